@@ -0,0 +1,90 @@
+package com.gardenspace.security;
+
+import com.gardenspace.repositories.RevokedSessionRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Per-request cost of authenticating a bearer token: the old path (key and
+ * parser rebuilt, token parsed twice), one verification with the cached
+ * parser, and a {@link JwtAuthenticator} cache hit (including the check of
+ * the token's session against {@link TokenRevocationList}).
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec}; add
+ * {@code -Djmh.args="-prof gc"} for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+    
+    private static final String SECRET = "gardenspace-secret-key-that-is-at-least-256-bits-long-for-security";
+    
+    private JwtUtil jwtUtil;
+    private JwtAuthenticator authenticator;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", TimeUnit.HOURS.toMillis(1));
+        jwtUtil.init();
+        // A thousand revoked sessions, so the cache hit includes a realistic revocation check
+        TokenRevocationList revocationList = new TokenRevocationList(mock(RevokedSessionRepository.class));
+        revocationList.createFilter();
+        for (int i = 0; i < 1000; i++) {
+            revocationList.revoke(UUID.randomUUID(), UUID.randomUUID(), System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        }
+        authenticator = new JwtAuthenticator(jwtUtil, revocationList);
+        token = jwtUtil.generateToken(UUID.randomUUID(), "anna@example.com", "USER", UUID.randomUUID());
+        authenticator.authenticate(token);
+    }
+    
+    @Benchmark
+    public Claims rebuildParserAndParseTwice() {
+        // What AuthService.getCurrentUser did: validateToken, then getUserIdFromToken
+        parseWithNewParser();
+        return parseWithNewParser();
+    }
+    
+    @Benchmark
+    public Claims parseWithCachedParser() {
+        return jwtUtil.parseToken(token);
+    }
+    
+    @Benchmark
+    public Optional<JwtPrincipal> authenticateCached() {
+        return authenticator.authenticate(token);
+    }
+    
+    private Claims parseWithNewParser() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
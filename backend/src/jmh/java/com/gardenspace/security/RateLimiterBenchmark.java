@@ -0,0 +1,62 @@
+package com.gardenspace.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link RateLimiter#tryAcquire} on allowed requests: one client
+ * hammered from four threads (CAS contention on one bucket) and 10000
+ * clients spread over four threads. Limits are set high enough that nothing
+ * is rejected.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=RateLimiter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RateLimiterBenchmark {
+    
+    private static final int CLIENTS = 10000;
+    
+    private RateLimiter rateLimiter;
+    private String[] clients;
+    
+    @Setup
+    public void setUp() {
+        rateLimiter = new RateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "bookingsCapacity", Integer.MAX_VALUE / 2);
+        ReflectionTestUtils.setField(rateLimiter, "bookingsPerMinute", 60_000_000);
+        ReflectionTestUtils.invokeMethod(rateLimiter, "configure");
+        clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+    
+    @Benchmark
+    public long sharedClient() {
+        return rateLimiter.tryAcquire(RateLimiter.Group.BOOKINGS, clients[0]);
+    }
+    
+    @Benchmark
+    public long manyClients() {
+        return rateLimiter.tryAcquire(RateLimiter.Group.BOOKINGS, clients[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+}
@@ -0,0 +1,93 @@
+package com.gardenspace.services;
+
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.GardenRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservation throughput during a booking rush on a single garden: 16
+ * threads each reserving a plot in its own transaction against an in-memory
+ * H2 database, so every call contends for the same row and admission stripe.
+ * The garden has enough plots that no reservation is rejected.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=PlotReservation}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class PlotReservationBenchmark {
+    
+    private ConfigurableApplicationContext context;
+    private PlotReservationEngine reservationEngine;
+    private TransactionTemplate transaction;
+    private UUID gardenId;
+    
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Garden.class)
+    @EnableJpaRepositories(basePackageClasses = GardenRepository.class)
+    @Import(PlotReservationEngine.class)
+    static class ReservationContext {
+    }
+    
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ReservationContext.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:reservation-benchmark;LOCK_TIMEOUT=10000",
+                        "spring.jpa.show-sql=false",
+                        "app.bookings.reservation.admission-timeout-ms=60000")
+                .run();
+        reservationEngine = context.getBean(PlotReservationEngine.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        
+        Garden garden = new Garden();
+        garden.setName("Nagyerdei közösségi kert");
+        garden.setDescription("Popular garden opening for the season");
+        garden.setAddress("Nagyerdő, Debrecen");
+        garden.setBasePricePerMonth(new BigDecimal("5000"));
+        garden.setOwnerId(UUID.randomUUID());
+        garden.setTotalPlots(Integer.MAX_VALUE);
+        garden.setAvailablePlots(Integer.MAX_VALUE);
+        gardenId = context.getBean(GardenRepository.class).save(garden).getId();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public void reserve() {
+        transaction.executeWithoutResult(status -> reservationEngine.reserve(gardenId));
+    }
+}
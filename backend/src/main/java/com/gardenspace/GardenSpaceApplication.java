@@ -2,8 +2,10 @@ package com.gardenspace;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class GardenSpaceApplication {
     public static void main(String[] args) {
         SpringApplication.run(GardenSpaceApplication.class, args);
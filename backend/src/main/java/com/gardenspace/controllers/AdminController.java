@@ -0,0 +1,72 @@
+package com.gardenspace.controllers;
+
+import com.gardenspace.dto.AdminSummary;
+import com.gardenspace.services.BookingEventLog;
+import com.gardenspace.services.BookingSummaryCounters;
+import com.gardenspace.services.GardenWaitlist;
+import com.gardenspace.services.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+    
+    private final BookingEventLog bookingEventLog;
+    private final BookingSummaryCounters summaryCounters;
+    private final RefreshTokenService refreshTokenService;
+    private final GardenWaitlist waitlist;
+    
+    /**
+     * Bookings by status, confirmed revenue and plot occupancy, per garden and
+     * in total; restricted to one owner's gardens when {@code ownerId} is given.
+     */
+    @GetMapping("/summary")
+    public AdminSummary getSummary(@RequestParam(required = false) UUID ownerId) {
+        return summaryCounters.summary(ownerId);
+    }
+    
+    /**
+     * Booking transitions from the event log, oldest first (Admin only).
+     * Continue with {@code from = nextOffset}; {@code endOffset} tells how far
+     * behind the reader is.
+     */
+    @GetMapping("/booking-events")
+    public ResponseEntity<?> getBookingEvents(
+            @RequestParam(defaultValue = "0") long from,
+            @RequestParam(defaultValue = "500") int limit) {
+        try {
+            return ResponseEntity.ok(bookingEventLog.read(from, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Signs the user out everywhere (Admin only), e.g. after changing their
+     * role: their refresh tokens are deleted and their access tokens rejected
+     * from now on, so the next sign-in picks up the new role.
+     */
+    @PostMapping("/users/{userId}/sessions/revoke")
+    public Map<String, Integer> revokeSessions(@PathVariable UUID userId) {
+        return Map.of("revokedSessions", refreshTokenService.endAllSessions(userId));
+    }
+    
+    /**
+     * Moves a waitlist entry ahead of (or back behind) entries with a lower
+     * priority (Admin only); users always join with priority 0.
+     */
+    @PutMapping("/gardens/{gardenId}/waitlist/{entryId}/priority")
+    public ResponseEntity<Void> setWaitlistPriority(@PathVariable UUID gardenId, @PathVariable UUID entryId,
+                                                    @RequestParam int priority) {
+        if (waitlist.setPriority(gardenId, entryId, priority)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
@@ -1,15 +1,21 @@
 package com.gardenspace.controllers;
 
 import com.gardenspace.dto.AuthRequest;
-import com.gardenspace.dto.AuthResponse;
+import com.gardenspace.dto.RefreshRequest;
 import com.gardenspace.dto.RegisterRequest;
+import com.gardenspace.security.PasswordHashingBusyException;
+import com.gardenspace.security.RateLimiter;
 import com.gardenspace.services.AuthService;
+import com.gardenspace.services.InvalidRefreshTokenException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -17,33 +23,81 @@ import java.util.Map;
 public class AuthController {
     
     private final AuthService authService;
+    private final RateLimiter rateLimiter;
     
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody RegisterRequest request) {
+        long wait = throttle(request.getEmail());
+        if (wait > 0) {
+            return CompletableFuture.completedFuture(tooManyRequests(wait));
+        }
         try {
-            AuthResponse response = authService.register(request);
-            return ResponseEntity.ok(response);
+            return authService.register(request)
+                    .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> failure(e, HttpStatus.BAD_REQUEST));
         } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of("error", e.getMessage()));
+            return CompletableFuture.completedFuture(failure(e, HttpStatus.BAD_REQUEST));
         }
     }
     
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AuthRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody AuthRequest request) {
+        long wait = throttle(request.getEmail());
+        if (wait > 0) {
+            return CompletableFuture.completedFuture(tooManyRequests(wait));
+        }
         try {
-            AuthResponse response = authService.login(request);
-            return ResponseEntity.ok(response);
+            return authService.login(request)
+                    .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> failure(e, HttpStatus.UNAUTHORIZED));
         } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(failure(e, HttpStatus.UNAUTHORIZED));
+        }
+    }
+    
+    /** A new access token and refresh token for a refresh token, which is used up. */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request) {
+        try {
+            return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+        } catch (InvalidRefreshTokenException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", e.getMessage()));
         }
     }
     
+    /** Ends the refresh token's session; its access tokens stop working at once. */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshRequest request) {
+        authService.logout(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+    
     @GetMapping("/me")
     public ResponseEntity<?> getCurrentUser(@RequestHeader("Authorization") String token) {
         return authService.getCurrentUser(token)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
     }
+    
+    private static ResponseEntity<?> failure(Throwable e, HttpStatus status) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof PasswordHashingBusyException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", cause.getMessage()));
+        }
+        return ResponseEntity.status(status).body(Map.of("error", cause.getMessage()));
+    }
+    
+    // Per-account limit on top of the per-IP one in RateLimitFilter, against guessing from many addresses
+    private long throttle(String email) {
+        return email == null ? 0 : rateLimiter.tryAcquire(RateLimiter.Group.AUTH, RateLimiter.account(email));
+    }
+    
+    private static ResponseEntity<?> tooManyRequests(long waitNanos) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(RateLimiter.retryAfterSeconds(waitNanos)))
+                .body(Map.of("error", "Too many attempts for this account, please retry later"));
+    }
 }
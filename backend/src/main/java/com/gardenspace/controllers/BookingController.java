@@ -1,12 +1,23 @@
 package com.gardenspace.controllers;
 
+import com.gardenspace.dto.BookingFilter;
+import com.gardenspace.dto.BulkTransitionRequest;
+import com.gardenspace.dto.BulkTransitionResult;
+import com.gardenspace.dto.CursorPage;
 import com.gardenspace.models.Booking;
+import com.gardenspace.services.BookingCommitPipeline;
 import com.gardenspace.services.BookingService;
+import com.gardenspace.services.DuplicateBookingException;
+import com.gardenspace.services.PlotsUnavailableException;
+import com.gardenspace.services.ReservationBusyException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -15,6 +26,7 @@ import java.util.UUID;
 public class BookingController {
     
     private final BookingService bookingService;
+    private final BookingCommitPipeline commitPipeline;
     
     @GetMapping
     public List<Booking> getAllBookings() {
@@ -28,18 +40,41 @@ public class BookingController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * Without query parameters all of the user's bookings are returned as a
+     * plain array; with any of {@code status}, {@code from}, {@code to},
+     * {@code sort}, {@code cursor} or {@code limit} a {@link CursorPage} is returned.
+     */
     @GetMapping("/user/{userId}")
-    public List<Booking> getBookingsByUser(@PathVariable UUID userId) {
-        return bookingService.getBookingsByUser(userId);
+    public ResponseEntity<?> getBookingsByUser(
+            @PathVariable UUID userId,
+            BookingFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (filter.isEmpty() && cursor == null && limit == null) {
+            return ResponseEntity.ok(bookingService.getBookingsByUser(userId));
+        }
+        return ResponseEntity.ok(bookingService.getBookingsPageByUser(userId, filter, cursor, limit));
     }
     
+    /** Same parameters as {@link #getBookingsByUser}. */
     @GetMapping("/garden/{gardenId}")
-    public List<Booking> getBookingsByGarden(@PathVariable UUID gardenId) {
-        return bookingService.getBookingsByGarden(gardenId);
+    public ResponseEntity<?> getBookingsByGarden(
+            @PathVariable UUID gardenId,
+            BookingFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (filter.isEmpty() && cursor == null && limit == null) {
+            return ResponseEntity.ok(bookingService.getBookingsByGarden(gardenId));
+        }
+        return ResponseEntity.ok(bookingService.getBookingsPageByGarden(gardenId, filter, cursor, limit));
     }
     
     @PostMapping
     public Booking createBooking(@RequestBody Booking booking) {
+        if (commitPipeline.isEnabled()) {
+            return commitPipeline.create(booking);
+        }
         return bookingService.createBooking(booking);
     }
     
@@ -52,6 +87,15 @@ public class BookingController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * Confirms or cancels many bookings at once (Admin only); returns one
+     * result per id: updated, unchanged, not_found or no_plots.
+     */
+    @PostMapping("/transitions")
+    public BulkTransitionResult transitionBookings(@RequestBody BulkTransitionRequest request) {
+        return bookingService.transitionAll(request.getIds(), request.getStatus());
+    }
+    
     @PatchMapping("/{id}/cancel")
     public ResponseEntity<Booking> cancelBooking(@PathVariable UUID id) {
         return bookingService.cancelBooking(id)
@@ -66,4 +110,29 @@ public class BookingController {
         }
         return ResponseEntity.notFound().build();
     }
+    
+    @ExceptionHandler(PlotsUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handlePlotsUnavailable(PlotsUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+    
+    @ExceptionHandler(DuplicateBookingException.class)
+    public ResponseEntity<Map<String, String>> handleDuplicateBooking(DuplicateBookingException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+    
+    @ExceptionHandler(ReservationBusyException.class)
+    public ResponseEntity<Map<String, String>> handleReservationBusy(ReservationBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+    }
+    
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleConcurrentChange(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+    
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
 }
@@ -0,0 +1,47 @@
+package com.gardenspace.controllers;
+
+import com.gardenspace.services.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+public class ExportController {
+    
+    private final ExportService exportService;
+    
+    /**
+     * Full-table export of {@code bookings}, {@code gardens} or {@code users}
+     * as NDJSON (default) or CSV, streamed row by row.
+     */
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportService.Dataset target = ExportService.Dataset.parse(dataset);
+        ExportService.Format encoding = ExportService.Format.parse(format);
+        
+        StreamingResponseBody body = out -> exportService.export(target, encoding, out);
+        String filename = target.name().toLowerCase(Locale.ROOT) + "." + encoding.extension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(encoding.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+    
+    // Thrown while parsing the request, before anything is streamed
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
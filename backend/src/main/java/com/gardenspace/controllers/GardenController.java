@@ -1,13 +1,38 @@
 package com.gardenspace.controllers;
 
+import com.gardenspace.dto.CursorPage;
+import com.gardenspace.dto.FacetedPage;
+import com.gardenspace.dto.FreeGarden;
+import com.gardenspace.dto.GardenChanges;
+import com.gardenspace.dto.GardenFilter;
+import com.gardenspace.dto.GardenProjection;
+import com.gardenspace.dto.NearbyGarden;
 import com.gardenspace.models.Garden;
+import com.gardenspace.services.GardenCatalogSnapshot;
+import com.gardenspace.services.GardenImportService;
+import com.gardenspace.services.GardenResponseCache;
 import com.gardenspace.services.GardenService;
+import com.gardenspace.services.PlotsInUseException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/gardens")
@@ -15,27 +40,167 @@ import java.util.UUID;
 public class GardenController {
     
     private final GardenService gardenService;
+    private final GardenResponseCache responseCache;
+    private final GardenImportService importService;
     
+    @Value("${app.http.cache.max-age-seconds:60}")
+    private long cacheMaxAgeSeconds = 60;
+    
+    @Value("${app.http.cache.stale-while-revalidate-seconds:300}")
+    private long cacheStaleWhileRevalidateSeconds = 300;
+    
+    @Value("${app.http.response-cache.gzip:true}")
+    private boolean gzipResponses = true;
+    
+    /**
+     * Without {@code cursor}/{@code limit} the whole catalog is returned as a
+     * plain array; with either of them a {@link CursorPage} is returned.
+     * {@code fields} narrows each garden to the listed properties.
+     */
     @GetMapping
-    public List<Garden> getAllGardens() {
-        return gardenService.getAllGardens();
+    public ResponseEntity<?> getAllGardens(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        return cachedListing("all", cursor, limit, fields, request, () -> respond(cursor, limit, fields,
+                gardenService::getAllGardens,
+                gardenService::getGardensPage));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Garden> getGardenById(@PathVariable UUID id) {
-        return gardenService.getGardenById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Garden> getGardenById(@PathVariable UUID id, WebRequest request) {
+        Optional<Garden> garden = gardenService.getGardenById(id);
+        if (garden.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        long lastModified = garden.get().getUpdatedAt().toInstant().toEpochMilli();
+        String etag = "\"" + id + "-" + Long.toHexString(lastModified) + "\"";
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(cacheControl())
+                .body(garden.get());
     }
     
     @GetMapping("/available")
-    public List<Garden> getAvailableGardens() {
-        return gardenService.getAvailableGardens();
+    public ResponseEntity<?> getAvailableGardens(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        return cachedListing("available", cursor, limit, fields, request, () -> respond(cursor, limit, fields,
+                gardenService::getAvailableGardens,
+                gardenService::getAvailableGardensPage));
     }
     
     @GetMapping("/search")
-    public List<Garden> searchGardens(@RequestParam String query) {
-        return gardenService.searchGardens(query);
+    public ResponseEntity<?> searchGardens(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        return respond(cursor, limit, fields,
+                () -> gardenService.searchGardens(query),
+                (after, size) -> gardenService.searchGardensPage(query, after, size));
+    }
+    
+    /**
+     * Combined facet filter, e.g.
+     * {@code /filter?amenities=Kút,Parkoló&minPrice=3000&maxPrice=8000&available=true}.
+     * Returns one page of matches plus facet counts over all matches.
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterGardens(
+            GardenFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        try {
+            List<String> selected = GardenProjection.parseFields(fields);
+            FacetedPage<Garden> page = gardenService.filterGardens(filter, cursor, limit);
+            return ResponseEntity.ok(selected == null
+                    ? page
+                    : page.map(garden -> GardenProjection.project(garden, selected)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyGardens(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<NearbyGarden> gardens = gardenService.findNearbyGardens(lat, lon, radiusKm, limit);
+            return ResponseEntity.ok(gardens);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Gardens with at least {@code plots} plots free for the whole stay, most
+     * free plots first. Availability is tracked per calendar month, so the
+     * dates are widened to the months they fall in.
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<?> findGardensWithFreePlots(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "1") int plots,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<FreeGarden> page = gardenService.findGardensWithFreePlots(from, to == null ? from : to, plots, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<?> getGardenAvailability(
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return gardenService.getAvailability(id, from, to == null ? from : to)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Delta sync: gardens created/updated and ids deleted since the token from
+     * the previous call. Omit {@code since} for the first, full sync.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getGardenChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        try {
+            List<String> selected = GardenProjection.parseFields(fields);
+            GardenChanges<Garden> changes = gardenService.getChangesSince(since, limit);
+            return ResponseEntity.ok(selected == null
+                    ? changes
+                    : changes.map(garden -> GardenProjection.project(garden, selected)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/catalog/stats")
+    public GardenCatalogSnapshot.Stats getCatalogSnapshotStats() {
+        return gardenService.getCatalogSnapshotStats();
     }
     
     @GetMapping("/owner/{ownerId}")
@@ -48,6 +213,22 @@ public class GardenController {
         return gardenService.createGarden(garden);
     }
     
+    /**
+     * Bulk import from a JSON array or a CSV file with a header row. Valid rows
+     * are inserted, invalid ones are reported by row number (Admin only).
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public ResponseEntity<?> importGardens(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                           InputStream body) {
+        boolean json = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON);
+        GardenImportService.Format format = json ? GardenImportService.Format.JSON : GardenImportService.Format.CSV;
+        try {
+            return ResponseEntity.ok(importService.importGardens(body, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<Garden> updateGarden(@PathVariable UUID id, @RequestBody Garden garden) {
         return gardenService.updateGarden(id, garden)
@@ -62,4 +243,80 @@ public class GardenController {
         }
         return ResponseEntity.notFound().build();
     }
+    
+    @ExceptionHandler(PlotsInUseException.class)
+    public ResponseEntity<Map<String, String>> handlePlotsInUse(PlotsInUseException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+    
+    /**
+     * Conditional catalog listing served from the {@link GardenResponseCache}.
+     * The version is sampled before loading, so a concurrent write can only
+     * make the body newer than its ETag and cache key, never older.
+     */
+    private ResponseEntity<?> cachedListing(String listing, String cursor, Integer limit, String fields,
+                                            WebRequest request, Supplier<ResponseEntity<?>> loader) {
+        long version = gardenService.getCatalogVersion();
+        String key = listing + "|" + cursor + "|" + limit + "|" + fields;
+        boolean gzip = gzipResponses && acceptsGzip(request);
+        
+        // Each encoding is its own representation and gets its own strong ETag
+        String etag = "\"c" + Long.toHexString(version) + "-" + Integer.toHexString(key.hashCode())
+                + (gzip ? "-gz" : "") + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        
+        Optional<GardenResponseCache.Body> cached = responseCache.get(version, key);
+        GardenResponseCache.Body body;
+        if (cached.isPresent()) {
+            body = cached.get();
+        } else {
+            ResponseEntity<?> response = loader.get();
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                return response;
+            }
+            body = responseCache.put(version, key, response.getBody());
+        }
+        
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        return gzip
+                ? ok.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzipped())
+                : ok.body(body.json());
+    }
+    
+    private static boolean acceptsGzip(WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+    
+    private CacheControl cacheControl() {
+        return CacheControl.maxAge(Duration.ofSeconds(cacheMaxAgeSeconds))
+                .cachePublic()
+                .staleWhileRevalidate(Duration.ofSeconds(cacheStaleWhileRevalidateSeconds));
+    }
+    
+    private ResponseEntity<?> respond(String cursor, Integer limit, String fields,
+                                      Supplier<List<Garden>> listLoader,
+                                      BiFunction<String, Integer, CursorPage<Garden>> pageLoader) {
+        try {
+            List<String> selected = GardenProjection.parseFields(fields);
+            if (cursor == null && limit == null) {
+                List<Garden> gardens = listLoader.get();
+                return ResponseEntity.ok(selected == null
+                        ? gardens
+                        : GardenProjection.project(gardens, selected));
+            }
+            CursorPage<Garden> page = pageLoader.apply(cursor, limit);
+            return ResponseEntity.ok(selected == null
+                    ? page
+                    : page.map(garden -> GardenProjection.project(garden, selected)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
 }
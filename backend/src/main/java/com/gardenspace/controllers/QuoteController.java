@@ -0,0 +1,32 @@
+package com.gardenspace.controllers;
+
+import com.gardenspace.dto.QuoteRequest;
+import com.gardenspace.services.QuoteEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/quotes")
+@RequiredArgsConstructor
+public class QuoteController {
+    
+    private final QuoteEngine quoteEngine;
+    
+    /**
+     * Prices a batch of (garden, start, durationMonths) items; the response
+     * has one quote per item, in order, with an {@code error} for items that
+     * cannot be priced.
+     */
+    @PostMapping
+    public ResponseEntity<?> quote(@RequestBody List<QuoteRequest> requests) {
+        try {
+            return ResponseEntity.ok(quoteEngine.quote(requests));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
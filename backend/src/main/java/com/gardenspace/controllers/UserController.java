@@ -5,10 +5,15 @@ import com.gardenspace.models.User;
 import com.gardenspace.services.GardenService;
 import com.gardenspace.services.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -19,16 +24,36 @@ public class UserController {
     private final UserService userService;
     private final GardenService gardenService;
     
+    @Value("${app.http.cache.max-age-seconds:60}")
+    private long cacheMaxAgeSeconds = 60;
+    
+    @Value("${app.http.cache.stale-while-revalidate-seconds:300}")
+    private long cacheStaleWhileRevalidateSeconds = 300;
+    
     @GetMapping
     public List<User> getAllUsers() {
         return userService.getAllUsers();
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable UUID id) {
-        return userService.getUserById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<User> getUserById(@PathVariable UUID id, WebRequest request) {
+        Optional<User> user = userService.getUserById(id);
+        if (user.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        long lastModified = user.get().getUpdatedAt().toInstant().toEpochMilli();
+        String etag = "\"" + id + "-" + Long.toHexString(lastModified) + "\"";
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        // Profiles carry the e-mail address, so only the browser may cache them
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(cacheMaxAgeSeconds))
+                        .cachePrivate()
+                        .staleWhileRevalidate(Duration.ofSeconds(cacheStaleWhileRevalidateSeconds)))
+                .body(user.get());
     }
     
     @GetMapping("/{id}/gardens")
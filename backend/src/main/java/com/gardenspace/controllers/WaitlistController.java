@@ -0,0 +1,57 @@
+package com.gardenspace.controllers;
+
+import com.gardenspace.dto.WaitlistJoinRequest;
+import com.gardenspace.models.WaitlistEntry;
+import com.gardenspace.services.GardenWaitlist;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/gardens/{gardenId}/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+    
+    private final GardenWaitlist waitlist;
+    
+    @GetMapping
+    public List<WaitlistEntry> getWaitlist(@PathVariable UUID gardenId) {
+        return waitlist.getWaitlist(gardenId);
+    }
+    
+    /**
+     * Joins a full garden's waitlist with the wanted start date and duration.
+     * When a plot frees up the user gets an {@code offered} booking to confirm.
+     */
+    @PostMapping
+    public ResponseEntity<?> join(@PathVariable UUID gardenId, @RequestBody WaitlistJoinRequest request) {
+        try {
+            return ResponseEntity.ok(waitlist.join(gardenId, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /** The user's place in line, so clients need not poll the garden itself. */
+    @GetMapping("/position")
+    public ResponseEntity<Map<String, Integer>> getPosition(@PathVariable UUID gardenId, @RequestParam UUID userId) {
+        OptionalInt position = waitlist.position(gardenId, userId);
+        if (position.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of("position", position.getAsInt(), "length", waitlist.size(gardenId)));
+    }
+    
+    @DeleteMapping("/{entryId}")
+    public ResponseEntity<Void> leave(@PathVariable UUID gardenId, @PathVariable UUID entryId) {
+        if (waitlist.leave(gardenId, entryId)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
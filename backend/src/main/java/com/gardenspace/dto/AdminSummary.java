@@ -0,0 +1,33 @@
+package com.gardenspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class AdminSummary {
+    private Map<String, Long> bookingsByStatus;
+    private BigDecimal confirmedRevenue;
+    private int totalPlots;
+    private int occupiedPlots; // plots held by confirmed bookings
+    private double occupancy;  // occupiedPlots / totalPlots, 0 without plots
+    private List<GardenSummary> gardens;
+    
+    @Data
+    @AllArgsConstructor
+    public static class GardenSummary {
+        private UUID gardenId;
+        private String name;
+        private UUID ownerId;
+        private Map<String, Long> bookingsByStatus;
+        private BigDecimal confirmedRevenue;
+        private int totalPlots;
+        private int occupiedPlots;
+        private double occupancy;
+    }
+}
@@ -1,5 +1,6 @@
 package com.gardenspace.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.gardenspace.models.User;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,6 +9,8 @@ import lombok.Data;
 @AllArgsConstructor
 public class AuthResponse {
     private String token;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String refreshToken; // only when a session is started or refreshed
     private UserDto user;
     
     @Data
@@ -21,8 +24,13 @@ public class AuthResponse {
     }
     
     public static AuthResponse from(String token, User user) {
+        return from(token, null, user);
+    }
+    
+    public static AuthResponse from(String token, String refreshToken, User user) {
         return new AuthResponse(
             token,
+            refreshToken,
             new UserDto(
                 user.getId().toString(),
                 user.getEmail(),
@@ -0,0 +1,14 @@
+package com.gardenspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BookingEventPage {
+    private List<BookingEventRecord> events;
+    private long nextOffset; // pass as "from" to continue
+    private long endOffset;  // offset the next appended event will get
+}
@@ -0,0 +1,23 @@
+package com.gardenspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** One booking transition as stored in the booking event log. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingEventRecord {
+    private long offset;
+    private String type; // created, status_changed or deleted
+    private UUID bookingId;
+    private UUID userId;
+    private UUID gardenId;
+    private String previousStatus; // null when created
+    private String status;
+    private OffsetDateTime at;
+}
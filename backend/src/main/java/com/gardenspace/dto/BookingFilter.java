@@ -0,0 +1,20 @@
+package com.gardenspace.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+public class BookingFilter {
+    private String status;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from; // startDate on or after
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;   // startDate on or before
+    private String sort;    // startDate or -startDate (default)
+    
+    public boolean isEmpty() {
+        return status == null && from == null && to == null && sort == null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.gardenspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class BulkTransitionResult {
+    private int updated;
+    private List<Item> results; // one per distinct requested id, in request order
+    
+    @Data
+    @AllArgsConstructor
+    public static class Item {
+        private UUID id;
+        private String result; // updated, unchanged, not_found or no_plots
+        private String previousStatus; // null when not found
+    }
+}
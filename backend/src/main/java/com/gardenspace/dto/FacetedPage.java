@@ -0,0 +1,28 @@
+package com.gardenspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+public class FacetedPage<T> {
+    private List<T> items;
+    private String nextCursor; // null on the last page
+    private int total;
+    private Facets facets;
+    
+    @Data
+    @AllArgsConstructor
+    public static class Facets {
+        private Map<String, Integer> amenities; // matches that also offer the amenity
+        private int available; // matches with a free plot
+    }
+    
+    public <R> FacetedPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new FacetedPage<>(items.stream().<R>map(mapper).toList(), nextCursor, total, facets);
+    }
+}
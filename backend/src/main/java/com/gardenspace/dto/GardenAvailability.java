@@ -0,0 +1,25 @@
+package com.gardenspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class GardenAvailability {
+    private UUID gardenId;
+    private int totalPlots;
+    private int freePlots; // free in every month of the range
+    private List<Month> months;
+    
+    @Data
+    @AllArgsConstructor
+    public static class Month {
+        private YearMonth month;
+        private int booked;
+        private int free;
+    }
+}
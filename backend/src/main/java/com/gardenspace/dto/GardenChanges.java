@@ -0,0 +1,27 @@
+package com.gardenspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * One batch of the garden change feed. Clients upsert {@code changed}, drop
+ * {@code deleted} and pass {@code nextToken} as {@code since} on the next
+ * poll; both lists may repeat entries from the previous batch.
+ */
+@Data
+@AllArgsConstructor
+public class GardenChanges<T> {
+    private List<T> changed;
+    private List<UUID> deleted;
+    private String nextToken;
+    private boolean hasMore; // poll again right away with nextToken
+    private boolean reset;   // token expired: discard the local copy and rebuild from this batch
+    
+    public <R> GardenChanges<R> map(Function<? super T, ? extends R> mapper) {
+        return new GardenChanges<>(changed.stream().<R>map(mapper).toList(), deleted, nextToken, hasMore, reset);
+    }
+}
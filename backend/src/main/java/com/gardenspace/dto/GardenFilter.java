@@ -0,0 +1,16 @@
+package com.gardenspace.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class GardenFilter {
+    private List<String> amenities; // garden must offer all of them
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private BigDecimal minSize;
+    private BigDecimal maxSize;
+    private boolean available; // only gardens with availablePlots > 0
+}
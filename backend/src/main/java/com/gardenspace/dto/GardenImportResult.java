@@ -0,0 +1,21 @@
+package com.gardenspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class GardenImportResult {
+    private int imported;
+    private int failed;
+    private List<RowError> errors; // capped; failed is the full count
+    
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private int row; // 1-based, not counting the CSV header
+        private String error;
+    }
+}
@@ -0,0 +1,75 @@
+package com.gardenspace.dto;
+
+import com.gardenspace.models.Garden;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Sparse field selection for garden responses ({@code ?fields=id,name,...}).
+ * Only the selected getters are invoked, so unselected lazy collections
+ * (amenities, images) are never loaded.
+ */
+public final class GardenProjection {
+    
+    private static final Map<String, Function<Garden, Object>> FIELDS = new LinkedHashMap<>();
+    
+    static {
+        FIELDS.put("id", Garden::getId);
+        FIELDS.put("name", Garden::getName);
+        FIELDS.put("description", Garden::getDescription);
+        FIELDS.put("address", Garden::getAddress);
+        FIELDS.put("latitude", Garden::getLatitude);
+        FIELDS.put("longitude", Garden::getLongitude);
+        FIELDS.put("totalPlots", Garden::getTotalPlots);
+        FIELDS.put("availablePlots", Garden::getAvailablePlots);
+        FIELDS.put("basePricePerMonth", Garden::getBasePricePerMonth);
+        FIELDS.put("sizeSqm", Garden::getSizeSqm);
+        FIELDS.put("ownerId", Garden::getOwnerId);
+        FIELDS.put("amenities", Garden::getAmenities);
+        FIELDS.put("images", Garden::getImages);
+        FIELDS.put("createdAt", Garden::getCreatedAt);
+        FIELDS.put("updatedAt", Garden::getUpdatedAt);
+    }
+    
+    private GardenProjection() {
+    }
+    
+    /**
+     * Parses a comma separated field list. Returns {@code null} when no
+     * selection was requested, meaning the full entity should be returned.
+     */
+    public static List<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        List<String> selected = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty() || selected.contains(name)) {
+                continue;
+            }
+            if (!FIELDS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name
+                        + " (allowed: " + String.join(",", FIELDS.keySet()) + ")");
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+    
+    public static Map<String, Object> project(Garden garden, List<String> fields) {
+        Map<String, Object> view = new LinkedHashMap<>(fields.size() * 2);
+        for (String field : fields) {
+            view.put(field, FIELDS.get(field).apply(garden));
+        }
+        return view;
+    }
+    
+    public static List<Map<String, Object>> project(List<Garden> gardens, List<String> fields) {
+        return gardens.stream().map(garden -> project(garden, fields)).toList();
+    }
+}
@@ -0,0 +1,14 @@
+package com.gardenspace.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.gardenspace.models.Garden;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class NearbyGarden {
+    @JsonUnwrapped
+    private Garden garden;
+    private double distanceKm;
+}
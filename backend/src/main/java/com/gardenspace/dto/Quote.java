@@ -0,0 +1,27 @@
+package com.gardenspace.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Quote {
+    private UUID gardenId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer durationMonths;
+    private BigDecimal pricePerMonth;
+    private BigDecimal totalPrice;
+    private String error; // set instead of the prices when the item cannot be priced
+    
+    public static Quote failed(QuoteRequest request, String error) {
+        return new Quote(request.getGardenId(), request.getStartDate(), null, request.getDurationMonths(),
+                null, null, error);
+    }
+}
@@ -0,0 +1,17 @@
+package com.gardenspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteRequest {
+    private UUID gardenId;
+    private LocalDate startDate; // optional; only used to compute endDate
+    private Integer durationMonths;
+}
@@ -0,0 +1,59 @@
+package com.gardenspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the garden change feed: everything modified after
+ * ({@code updatedAt}, {@code id}) is still to be sent. Clients only ever see
+ * the opaque {@link #encode() encoded} form.
+ */
+@Data
+@AllArgsConstructor
+public class SyncToken {
+    
+    private static final String PREFIX = "sync:";
+    
+    /** Before every change; a sync from here returns the whole catalog. */
+    public static final SyncToken INITIAL = new SyncToken(
+            OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC), new UUID(0L, 0L));
+    
+    private OffsetDateTime updatedAt;
+    private UUID id;
+    
+    /** Token that re-reads everything modified at or after {@code time}. */
+    public static SyncToken at(OffsetDateTime time) {
+        return new SyncToken(time, INITIAL.getId());
+    }
+    
+    public String encode() {
+        String raw = PREFIX + updatedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static SyncToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return INITIAL;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            int separator = raw.indexOf('|');
+            return new SyncToken(
+                    OffsetDateTime.parse(raw.substring(PREFIX.length(), separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid sync token");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.gardenspace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistJoinRequest {
+    private UUID userId;
+    private LocalDate startDate;
+    private Integer durationMonths;
+}
@@ -0,0 +1,31 @@
+package com.gardenspace.events;
+
+import com.gardenspace.models.Booking;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by {@code BookingService} after a booking is created, changes
+ * status or is deleted, so in-memory views of bookings can patch themselves.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingChangedEvent {
+    
+    private final Booking booking;
+    private final String previousStatus; // null when created
+    private final boolean deleted;
+    
+    public static BookingChangedEvent created(Booking booking) {
+        return new BookingChangedEvent(booking, null, false);
+    }
+    
+    public static BookingChangedEvent statusChanged(Booking booking, String previousStatus) {
+        return new BookingChangedEvent(booking, previousStatus, false);
+    }
+    
+    public static BookingChangedEvent deleted(Booking booking) {
+        return new BookingChangedEvent(booking, booking.getStatus(), true);
+    }
+}
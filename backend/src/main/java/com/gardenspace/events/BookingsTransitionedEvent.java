@@ -0,0 +1,20 @@
+package com.gardenspace.events;
+
+import com.gardenspace.repositories.BookingRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Published by {@code BookingService} after a bulk status transition, so
+ * in-memory views can absorb it in one step instead of one
+ * {@link BookingChangedEvent} per booking.
+ */
+@Getter
+@RequiredArgsConstructor
+public class BookingsTransitionedEvent {
+    
+    private final List<BookingRepository.State> bookings; // with their previous status
+    private final String status;
+}
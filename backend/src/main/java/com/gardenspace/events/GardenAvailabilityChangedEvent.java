@@ -0,0 +1,25 @@
+package com.gardenspace.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Published by {@code PlotReservationEngine} when a booking takes or returns
+ * plots, with the garden's counts as its transaction left them. Listeners run
+ * after commit in no particular order, so they keep the event with the
+ * highest {@code sequence} per garden: it is drawn while the transaction holds
+ * the garden's row lock and therefore follows the commit order, which
+ * {@code updatedAt} (taken before the lock) does not under contention.
+ */
+@Getter
+@RequiredArgsConstructor
+public class GardenAvailabilityChangedEvent {
+    
+    private final UUID gardenId;
+    private final int availablePlots;
+    private final OffsetDateTime updatedAt;
+    private final long sequence;
+}
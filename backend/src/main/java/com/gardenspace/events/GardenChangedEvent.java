@@ -0,0 +1,32 @@
+package com.gardenspace.events;
+
+import com.gardenspace.models.Garden;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Published by {@code GardenService} after a garden is created, updated or
+ * deleted so in-memory views of the catalog can patch themselves.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class GardenChangedEvent {
+    
+    private final UUID gardenId;
+    private final Garden garden; // null when deleted
+    
+    public static GardenChangedEvent saved(Garden garden) {
+        return new GardenChangedEvent(garden.getId(), garden);
+    }
+    
+    public static GardenChangedEvent deleted(UUID gardenId) {
+        return new GardenChangedEvent(gardenId, null);
+    }
+    
+    public boolean isDeleted() {
+        return garden == null;
+    }
+}
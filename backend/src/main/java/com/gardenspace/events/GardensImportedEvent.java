@@ -0,0 +1,19 @@
+package com.gardenspace.events;
+
+import com.gardenspace.models.Garden;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Published by {@code GardenImportService} once per committed import batch,
+ * so in-memory views can absorb a whole batch in one step instead of one
+ * {@link GardenChangedEvent} per garden.
+ */
+@Getter
+@RequiredArgsConstructor
+public class GardensImportedEvent {
+    
+    private final List<Garden> gardens;
+}
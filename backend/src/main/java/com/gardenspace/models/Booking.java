@@ -11,7 +11,12 @@ import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_user_status_start", columnList = "user_id, status, start_date"),
+    @Index(name = "idx_bookings_garden_status_start", columnList = "garden_id, status, start_date")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "one_booking_per_user_garden", columnNames = {"user_id", "garden_id", "start_date"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -11,12 +11,22 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "gardens")
+@NamedEntityGraph(name = Garden.WITH_AMENITIES, attributeNodes = @NamedAttributeNode("amenities"))
+@NamedEntityGraph(name = Garden.WITH_IMAGES, attributeNodes = @NamedAttributeNode("images"))
+@Table(name = "gardens", indexes = {
+    @Index(name = "idx_gardens_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_gardens_updated_at_id", columnList = "updated_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Garden {
     
+    // Fetch plans for the two element collections. They are bags, so they
+    // cannot be join-fetched together and are loaded in separate queries.
+    public static final String WITH_AMENITIES = "Garden.withAmenities";
+    public static final String WITH_IMAGES = "Garden.withImages";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -30,6 +40,10 @@ public class Garden {
     @Column(nullable = false)
     private String address;
     
+    private BigDecimal latitude;
+    
+    private BigDecimal longitude;
+    
     @Column(name = "total_plots", nullable = false)
     private Integer totalPlots = 1;
     
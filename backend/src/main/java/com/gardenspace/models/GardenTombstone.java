@@ -0,0 +1,30 @@
+package com.gardenspace.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Record of a deleted garden, kept so delta-sync clients learn about the
+ * delete. Purged once older than the sync retention window.
+ */
+@Entity
+@Table(name = "garden_tombstones", indexes = {
+    @Index(name = "idx_garden_tombstones_deleted_at", columnList = "deleted_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GardenTombstone {
+    
+    @Id
+    @Column(name = "garden_id")
+    private UUID gardenId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private OffsetDateTime deletedAt = OffsetDateTime.now();
+}
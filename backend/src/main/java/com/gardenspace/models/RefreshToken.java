@@ -0,0 +1,47 @@
+package com.gardenspace.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A refresh token, stored as the SHA-256 of its value. Every refresh marks
+ * the token used and issues its successor in the same session; a used token
+ * is kept until it expires so that presenting it again is detected as reuse.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+    @Index(name = "idx_refresh_tokens_session", columnList = "session_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Column(name = "session_id", nullable = false)
+    private UUID sessionId;
+    
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+    
+    @Column(name = "used_at")
+    private OffsetDateTime usedAt;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt = OffsetDateTime.now();
+}
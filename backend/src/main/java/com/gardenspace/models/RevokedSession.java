@@ -0,0 +1,37 @@
+package com.gardenspace.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A session whose access tokens are rejected. Kept until the last access
+ * token it may have issued has expired ({@code expires_at}); after that the
+ * tokens fail on their own expiry.
+ */
+@Entity
+@Table(name = "revoked_sessions", indexes = {
+    @Index(name = "idx_revoked_sessions_revoked_at", columnList = "revoked_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedSession {
+    
+    @Id
+    @Column(name = "session_id")
+    private UUID sessionId;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Column(name = "revoked_at", nullable = false)
+    private OffsetDateTime revokedAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+}
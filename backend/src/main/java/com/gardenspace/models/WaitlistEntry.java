@@ -0,0 +1,47 @@
+package com.gardenspace.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A user waiting for a plot in a full garden. When a plot frees up, the first
+ * entry (highest priority, then oldest) is removed and turned into an
+ * {@code offered} booking for the requested start date and duration.
+ */
+@Entity
+@Table(name = "garden_waitlist", uniqueConstraints = {
+    @UniqueConstraint(name = "one_waitlist_entry_per_user_garden", columnNames = {"garden_id", "user_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    
+    @Column(name = "garden_id", nullable = false)
+    private UUID gardenId;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "duration_months", nullable = false)
+    private Integer durationMonths;
+    
+    @Column(nullable = false)
+    private Integer priority = 0; // higher is served first
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt = OffsetDateTime.now();
+}
@@ -1,14 +1,28 @@
 package com.gardenspace.repositories;
 
 import com.gardenspace.models.Booking;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, UUID> {
+public interface BookingRepository extends JpaRepository<Booking, UUID>, JpaSpecificationExecutor<Booking> {
     
     List<Booking> findByUserId(UUID userId);
     
@@ -17,4 +31,81 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
     List<Booking> findByUserIdAndStatus(UUID userId, String status);
     
     List<Booking> findByGardenIdAndStatus(UUID gardenId, String status);
+    
+    List<Stay> findByStatusIn(Collection<String> statuses);
+    
+    boolean existsByUserIdAndGardenIdAndStartDate(UUID userId, UUID gardenId, LocalDate startDate);
+    
+    @Query("SELECT b.id AS id, b.status AS status, b.createdAt AS createdAt FROM Booking b " +
+           "WHERE b.status IN ('pending', 'offered')")
+    List<Hold> findExpiringHolds();
+    
+    @Query("SELECT b.id AS id, b.userId AS userId, b.gardenId AS gardenId, b.status AS status, b.startDate AS startDate, " +
+           "b.endDate AS endDate, b.totalPrice AS totalPrice FROM Booking b WHERE b.id IN :ids")
+    List<State> findStatesByIdIn(@Param("ids") Collection<UUID> ids);
+    
+    /** Moves the bookings from one status to another; rows no longer in {@code previous} are skipped. */
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.updatedAt = :now WHERE b.id IN :ids AND b.status = :previous")
+    int updateStatus(@Param("ids") Collection<UUID> ids, @Param("previous") String previous,
+                     @Param("status") String status, @Param("now") OffsetDateTime now);
+    
+    /** Existing (user, garden, start date) slots among the given values, for batched uniqueness checks. */
+    @Query("SELECT b.userId AS userId, b.gardenId AS gardenId, b.startDate AS startDate FROM Booking b " +
+           "WHERE b.gardenId IN :gardenIds AND b.userId IN :userIds AND b.startDate IN :startDates")
+    List<Slot> findSlots(@Param("gardenIds") Collection<UUID> gardenIds, @Param("userIds") Collection<UUID> userIds,
+                         @Param("startDates") Collection<LocalDate> startDates);
+    
+    @Query("SELECT b.gardenId AS gardenId, b.status AS status, COUNT(b) AS bookings, SUM(b.totalPrice) AS totalPrice " +
+           "FROM Booking b GROUP BY b.gardenId, b.status")
+    List<StatusTotal> sumByGardenAndStatus();
+    
+    /** Cursor over all bookings for exports; consume inside a transaction and close it. */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT b FROM Booking b ORDER BY b.createdAt, b.id")
+    Stream<Booking> streamAll();
+    
+    interface Hold {
+        UUID getId();
+        
+        String getStatus();
+        
+        OffsetDateTime getCreatedAt();
+    }
+    
+    interface Slot {
+        UUID getUserId();
+        
+        UUID getGardenId();
+        
+        LocalDate getStartDate();
+    }
+    
+    interface State extends Stay {
+        UUID getId();
+        
+        UUID getUserId();
+        
+        String getStatus();
+        
+        BigDecimal getTotalPrice();
+    }
+    
+    interface StatusTotal {
+        UUID getGardenId();
+        
+        String getStatus();
+        
+        long getBookings();
+        
+        BigDecimal getTotalPrice();
+    }
+    
+    interface Stay {
+        UUID getGardenId();
+        
+        LocalDate getStartDate();
+        
+        LocalDate getEndDate();
+    }
 }
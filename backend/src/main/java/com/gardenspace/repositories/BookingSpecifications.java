@@ -0,0 +1,65 @@
+package com.gardenspace.repositories;
+
+import com.gardenspace.dto.BookingCursor;
+import com.gardenspace.models.Booking;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Predicates for filtered booking listings. Each combination keeps to the
+ * leading columns of {@code idx_bookings_user_status_start} or
+ * {@code idx_bookings_garden_status_start}.
+ */
+public final class BookingSpecifications {
+    
+    private BookingSpecifications() {
+    }
+    
+    public static Specification<Booking> hasUser(UUID userId) {
+        return (root, query, cb) -> cb.equal(root.get("userId"), userId);
+    }
+    
+    public static Specification<Booking> hasGarden(UUID gardenId) {
+        return (root, query, cb) -> cb.equal(root.get("gardenId"), gardenId);
+    }
+    
+    public static Specification<Booking> hasStatus(String status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+    
+    public static Specification<Booking> startsBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from == null && to == null) {
+                return null;
+            }
+            if (from == null) {
+                return cb.lessThanOrEqualTo(root.get("startDate"), to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get("startDate"), from);
+            }
+            return cb.between(root.get("startDate"), from, to);
+        };
+    }
+    
+    /** Rows after the cursor in (startDate, id) order, ascending or descending. */
+    public static Specification<Booking> after(BookingCursor cursor, boolean descending) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            if (descending) {
+                return cb.or(
+                        cb.lessThan(root.get("startDate"), cursor.getStartDate()),
+                        cb.and(cb.equal(root.get("startDate"), cursor.getStartDate()),
+                                cb.lessThan(root.get("id"), cursor.getId())));
+            }
+            return cb.or(
+                    cb.greaterThan(root.get("startDate"), cursor.getStartDate()),
+                    cb.and(cb.equal(root.get("startDate"), cursor.getStartDate()),
+                            cb.greaterThan(root.get("id"), cursor.getId())));
+        };
+    }
+}
@@ -1,18 +1,173 @@
 package com.gardenspace.repositories;
 
 import com.gardenspace.models.Garden;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface GardenRepository extends JpaRepository<Garden, UUID> {
     
+    // Keeps IN lists well below driver bind-parameter limits
+    int COLLECTION_FETCH_CHUNK = 1000;
+    
     List<Garden> findByOwnerId(UUID ownerId);
     
     List<Garden> findByAvailablePlotsGreaterThan(Integer minPlots);
     
-    List<Garden> findByNameContainingIgnoreCase(String name);
+    List<Location> findByLatitudeNotNullAndLongitudeNotNull();
+    
+    @Query("SELECT g.id AS id, g.totalPlots AS totalPlots FROM Garden g")
+    List<PlotTotal> findPlotTotals();
+    
+    @Query("SELECT g.id AS id, g.basePricePerMonth AS basePricePerMonth FROM Garden g")
+    List<Price> findPrices();
+    
+    Optional<Price> findPriceById(UUID id);
+    
+    @Query("SELECT g.id AS id, g.ownerId AS ownerId, g.name AS name, g.totalPlots AS totalPlots FROM Garden g")
+    List<Header> findHeaders();
+    
+    // Collection loaders: re-select already loaded gardens with one collection
+    // fetched, initializing it on the managed instances in a single query
+    
+    @EntityGraph(Garden.WITH_AMENITIES)
+    @Query("SELECT g FROM Garden g WHERE g IN :gardens")
+    List<Garden> fetchAmenities(@Param("gardens") Collection<Garden> gardens);
+    
+    @EntityGraph(Garden.WITH_IMAGES)
+    @Query("SELECT g FROM Garden g WHERE g IN :gardens")
+    List<Garden> fetchImages(@Param("gardens") Collection<Garden> gardens);
+    
+    /**
+     * Initializes amenities and images for managed gardens with one query per
+     * collection per chunk of {@value #COLLECTION_FETCH_CHUNK}, instead of two
+     * lazy loads per garden. Must run inside the transaction that loaded them.
+     */
+    default List<Garden> fetchCollections(List<Garden> gardens) {
+        for (int from = 0; from < gardens.size(); from += COLLECTION_FETCH_CHUNK) {
+            List<Garden> chunk = gardens.subList(from, Math.min(from + COLLECTION_FETCH_CHUNK, gardens.size()));
+            fetchAmenities(chunk);
+            fetchImages(chunk);
+        }
+        return gardens;
+    }
+    
+    // Keyset pages ordered by (createdAt, id), served by idx_gardens_created_at_id
+    
+    @Query("SELECT g FROM Garden g " +
+           "WHERE g.createdAt > :createdAt OR (g.createdAt = :createdAt AND g.id > :id) " +
+           "ORDER BY g.createdAt, g.id")
+    List<Garden> findPageAfter(@Param("createdAt") OffsetDateTime createdAt,
+                               @Param("id") UUID id,
+                               Limit limit);
+    
+    @Query("SELECT g FROM Garden g " +
+           "WHERE g.availablePlots > 0 " +
+           "AND (g.createdAt > :createdAt OR (g.createdAt = :createdAt AND g.id > :id)) " +
+           "ORDER BY g.createdAt, g.id")
+    List<Garden> findAvailablePageAfter(@Param("createdAt") OffsetDateTime createdAt,
+                                        @Param("id") UUID id,
+                                        Limit limit);
+    
+    /** Cursor over all gardens for exports; consume inside a transaction and close it. */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT g FROM Garden g ORDER BY g.createdAt, g.id")
+    Stream<Garden> streamAll();
+    
+    // Change feed ordered by (updatedAt, id), served by idx_gardens_updated_at_id
+    
+    @Query("SELECT g FROM Garden g " +
+           "WHERE g.updatedAt > :updatedAt OR (g.updatedAt = :updatedAt AND g.id > :id) " +
+           "ORDER BY g.updatedAt, g.id")
+    List<Garden> findChangedAfter(@Param("updatedAt") OffsetDateTime updatedAt,
+                                  @Param("id") UUID id,
+                                  Limit limit);
+    
+    // Plot counter updates. Each is a single conditional UPDATE, so the row
+    // lock is held only from the statement to commit and the counter can
+    // neither go negative nor exceed totalPlots. Loaded Garden entities are
+    // not refreshed; re-read them if needed.
+    
+    @Modifying
+    @Query("UPDATE Garden g SET g.availablePlots = g.availablePlots - 1, g.updatedAt = :now " +
+           "WHERE g.id = :id AND g.availablePlots > 0")
+    int takePlot(@Param("id") UUID id, @Param("now") OffsetDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Garden g SET g.availablePlots = g.availablePlots + 1, g.updatedAt = :now " +
+           "WHERE g.id = :id AND g.availablePlots < g.totalPlots")
+    int returnPlot(@Param("id") UUID id, @Param("now") OffsetDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Garden g SET g.availablePlots = g.availablePlots - :plots, g.updatedAt = :now " +
+           "WHERE g.id = :id AND g.availablePlots >= :plots")
+    int takePlots(@Param("id") UUID id, @Param("plots") int plots, @Param("now") OffsetDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Garden g SET g.availablePlots = CASE WHEN g.availablePlots + :plots > g.totalPlots " +
+           "THEN g.totalPlots ELSE g.availablePlots + :plots END, g.updatedAt = :now WHERE g.id = :id")
+    int returnPlots(@Param("id") UUID id, @Param("plots") int plots, @Param("now") OffsetDateTime now);
+    
+    // Both right-hand sides read the old totalPlots, so free plots shift by the change in size
+    @Modifying
+    @Query("UPDATE Garden g SET g.availablePlots = g.availablePlots + :totalPlots - g.totalPlots, " +
+           "g.totalPlots = :totalPlots, g.updatedAt = :now " +
+           "WHERE g.id = :id AND g.availablePlots + :totalPlots - g.totalPlots >= 0")
+    int resizePlots(@Param("id") UUID id, @Param("totalPlots") int totalPlots, @Param("now") OffsetDateTime now);
+    
+    @Query("SELECT g.id AS id, g.availablePlots AS availablePlots, g.updatedAt AS updatedAt " +
+           "FROM Garden g WHERE g.id = :id")
+    Optional<Availability> findAvailabilityById(@Param("id") UUID id);
+    
+    interface Availability {
+        UUID getId();
+        
+        Integer getAvailablePlots();
+        
+        OffsetDateTime getUpdatedAt();
+    }
+    
+    interface Price {
+        UUID getId();
+        
+        BigDecimal getBasePricePerMonth();
+    }
+    
+    interface Header extends PlotTotal {
+        UUID getOwnerId();
+        
+        String getName();
+    }
+    
+    interface PlotTotal {
+        UUID getId();
+        
+        Integer getTotalPlots();
+    }
+    
+    interface Location {
+        UUID getId();
+        
+        BigDecimal getLatitude();
+        
+        BigDecimal getLongitude();
+    }
 }
@@ -0,0 +1,23 @@
+package com.gardenspace.repositories;
+
+import com.gardenspace.models.GardenTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface GardenTombstoneRepository extends JpaRepository<GardenTombstone, UUID> {
+    
+    @Query("SELECT t.gardenId FROM GardenTombstone t WHERE t.deletedAt >= :since")
+    List<UUID> findGardenIdsDeletedSince(@Param("since") OffsetDateTime since);
+    
+    @Modifying
+    @Query("DELETE FROM GardenTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") OffsetDateTime cutoff);
+}
@@ -0,0 +1,37 @@
+package com.gardenspace.repositories;
+
+import com.gardenspace.models.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+    
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+    
+    /** Marks the token used unless it already was; returns 0 if another refresh got there first. */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :now WHERE t.id = :id AND t.usedAt IS NULL")
+    int markUsed(@Param("id") UUID id, @Param("now") OffsetDateTime now);
+    
+    @Query("SELECT DISTINCT t.sessionId FROM RefreshToken t WHERE t.userId = :userId")
+    List<UUID> findSessionIds(@Param("userId") UUID userId);
+    
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.sessionId = :sessionId")
+    int deleteSession(@Param("sessionId") UUID sessionId);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") OffsetDateTime now);
+}
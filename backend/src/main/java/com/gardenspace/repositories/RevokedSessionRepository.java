@@ -0,0 +1,26 @@
+package com.gardenspace.repositories;
+
+import com.gardenspace.models.RevokedSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RevokedSessionRepository extends JpaRepository<RevokedSession, UUID> {
+    
+    List<RevokedSession> findByExpiresAtAfter(OffsetDateTime now);
+    
+    List<RevokedSession> findByRevokedAtAfter(OffsetDateTime since);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedSession r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") OffsetDateTime now);
+}
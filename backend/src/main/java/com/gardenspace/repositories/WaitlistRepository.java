@@ -0,0 +1,25 @@
+package com.gardenspace.repositories;
+
+import com.gardenspace.models.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, UUID> {
+    
+    boolean existsByGardenIdAndUserId(UUID gardenId, UUID userId);
+    
+    /** Removes the entry without loading it; returns 0 if it was already gone. */
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.id = :id")
+    int deleteEntry(@Param("id") UUID id);
+    
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.priority = :priority WHERE w.id = :id AND w.gardenId = :gardenId")
+    int updatePriority(@Param("gardenId") UUID gardenId, @Param("id") UUID id, @Param("priority") int priority);
+}
@@ -0,0 +1,133 @@
+package com.gardenspace.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies bearer tokens without touching the database. A token's signature
+ * is checked once; afterwards its SHA-256 digest maps to the principal until
+ * the token expires, so repeat requests cost one hash and one map lookup
+ * instead of an HMAC check and a JSON parse. Only digests are kept, never the
+ * tokens themselves.
+ *
+ * <p>Tokens of a revoked session are rejected, cached or not, after a
+ * memory-only check against {@link TokenRevocationList}.
+ *
+ * <p>The cache holds at most {@code jwt.cache.max-entries} tokens. When full,
+ * expired entries are swept (at most once a second) and new tokens are
+ * verified without being cached until there is room again.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtAuthenticator {
+    
+    private static final long SWEEP_INTERVAL_MS = 1000;
+    
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+    
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationList revocationList;
+    
+    @Value("${jwt.cache.max-entries:10000}")
+    private int maxEntries = 10000;
+    
+    private final ConcurrentHashMap<Digest, Verified> verified = new ConcurrentHashMap<>();
+    private volatile long nextSweepMillis;
+    
+    // First 128 bits of the token's SHA-256
+    private record Digest(long high, long low) {
+    }
+    
+    record Verified(JwtPrincipal principal, List<GrantedAuthority> authorities, UUID sessionId, long expiresAtMillis) {
+    }
+    
+    /** The token's principal, or empty if its signature, claims or expiry do not check out. */
+    public Optional<JwtPrincipal> authenticate(String token) {
+        return Optional.ofNullable(verify(token)).map(Verified::principal);
+    }
+    
+    /** Like {@link #authenticate} but with the granted authorities; null for a rejected token. */
+    Verified verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        Digest digest = digest(token);
+        long now = System.currentTimeMillis();
+        Verified hit = verified.get(digest);
+        if (hit != null) {
+            if (hit.expiresAtMillis() > now) {
+                return revocationList.isRevoked(hit.sessionId()) ? null : hit;
+            }
+            verified.remove(digest, hit);
+            return null;
+        }
+        
+        Verified checked;
+        try {
+            Claims claims = jwtUtil.parseToken(token);
+            String role = claims.get("role", String.class);
+            JwtPrincipal principal = new JwtPrincipal(UUID.fromString(claims.getSubject()),
+                    claims.get("email", String.class), role);
+            List<GrantedAuthority> authorities = role == null
+                    ? List.of()
+                    : List.of(new SimpleGrantedAuthority("ROLE_" + role));
+            String sessionId = claims.get("sid", String.class);
+            Date expiration = claims.getExpiration();
+            checked = new Verified(principal, authorities, sessionId == null ? null : UUID.fromString(sessionId),
+                    expiration == null ? Long.MAX_VALUE : expiration.getTime());
+        } catch (JwtException | IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+        remember(digest, checked, now);
+        return revocationList.isRevoked(checked.sessionId()) ? null : checked;
+    }
+    
+    public int size() {
+        return verified.size();
+    }
+    
+    private void remember(Digest digest, Verified checked, long now) {
+        if (verified.size() >= maxEntries) {
+            if (now < nextSweepMillis) {
+                return;
+            }
+            nextSweepMillis = now + SWEEP_INTERVAL_MS;
+            verified.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+            if (verified.size() >= maxEntries) {
+                return;
+            }
+        }
+        verified.put(digest, checked);
+    }
+    
+    private static Digest digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < 8; i++) {
+            high = (high << 8) | (hash[i] & 0xff);
+            low = (low << 8) | (hash[i + 8] & 0xff);
+        }
+        return new Digest(high, low);
+    }
+}
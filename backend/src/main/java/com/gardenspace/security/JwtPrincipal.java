@@ -0,0 +1,7 @@
+package com.gardenspace.security;
+
+import java.util.UUID;
+
+/** The authenticated user as read from a verified token's claims. */
+public record JwtPrincipal(UUID userId, String email, String role) {
+}
@@ -2,6 +2,7 @@ package com.gardenspace.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -16,10 +17,22 @@ public class JwtUtil {
     @Value("${jwt.secret:gardenspace-secret-key-that-is-at-least-256-bits-long}")
     private String secret;
     
-    @Value("${jwt.expiration:86400000}")
-    private long expiration; // 24 hours default
+    @Value("${jwt.expiration:900000}")
+    private long expiration; // 15 minutes default; sessions are extended with refresh tokens
     
-    private SecretKey getSigningKey() {
+    // Built once: both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+    
+    @PostConstruct
+    void init() {
+        signingKey = createSigningKey();
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+    
+    private SecretKey createSigningKey() {
         byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         if (keyBytes.length < 32) {
             byte[] paddedKey = new byte[32];
@@ -30,22 +43,28 @@ public class JwtUtil {
     }
     
     public String generateToken(UUID userId, String email, String role) {
+        return generateToken(userId, email, role, null);
+    }
+    
+    /** An access token of the given session ({@code sid} claim), which revoking the session invalidates. */
+    public String generateToken(UUID userId, String email, String role, UUID sessionId) {
         return Jwts.builder()
                 .setSubject(userId.toString())
                 .claim("email", email)
                 .claim("role", role)
+                .claim("sid", sessionId == null ? null : sessionId.toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
+    public long getExpiration() {
+        return expiration;
+    }
+    
     public Claims parseToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
     
     public UUID getUserIdFromToken(String token) {
@@ -0,0 +1,140 @@
+package com.gardenspace.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt hashing and verification on a small dedicated pool instead of the
+ * request threads. The pool has {@code threads} workers and a queue of
+ * {@code queue-capacity} tasks; when both are taken a call fails at once with
+ * {@link PasswordHashingBusyException} rather than queueing behind seconds of
+ * CPU work.
+ *
+ * <p>Unless {@code cost} is set, the work factor is calibrated on startup:
+ * one BCrypt round costs the same on a given machine and each cost step
+ * doubles the time, so a hash is timed at a low cost and extrapolated to the
+ * highest cost within {@code target-ms}. Stored hashes of a lower cost are
+ * reported by {@link #needsRehash} so logins can bring them up to date;
+ * stronger ones are kept, since calibration varies between startups and
+ * instances and must not make logins rehash back and forth.
+ *
+ * <p>Stages chained on the returned futures run on the hashing threads;
+ * keep them short.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+    
+    private static final int CALIBRATION_COST = 8;
+    private static final int CALIBRATION_RUNS = 3;
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+    
+    @Value("${app.auth.hashing.threads:0}")
+    private int threads = 0; // 0: one per core
+    
+    @Value("${app.auth.hashing.queue-capacity:64}")
+    private int queueCapacity = 64;
+    
+    @Value("${app.auth.hashing.cost:0}")
+    private int configuredCost = 0; // 0: calibrate on startup
+    
+    @Value("${app.auth.hashing.target-ms:100}")
+    private long targetMs = 100;
+    
+    @Value("${app.auth.hashing.min-cost:10}")
+    private int minCost = 10;
+    
+    @Value("${app.auth.hashing.max-cost:16}")
+    private int maxCost = 16;
+    
+    private int cost;
+    private BCryptPasswordEncoder encoder;
+    private ThreadPoolExecutor executor;
+    
+    @PostConstruct
+    void start() {
+        cost = configuredCost > 0 ? configuredCost : calibrate();
+        encoder = new BCryptPasswordEncoder(cost);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger created = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + created.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+    
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+    
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+    
+    /** Whether a BCrypt hash was made with a lower cost than the current one. */
+    public boolean needsRehash(String encodedPassword) {
+        int hashCost = costOf(encodedPassword);
+        return hashCost > 0 && hashCost < cost;
+    }
+    
+    public int getCost() {
+        return cost;
+    }
+    
+    /** The cost of a BCrypt hash, or 0 if it is not one. */
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return 0;
+        }
+        Matcher matcher = BCRYPT.matcher(encodedPassword);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+    
+    int calibrate() {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(CALIBRATION_COST);
+        probe.encode("warm-up");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double steps = Math.log((double) TimeUnit.MILLISECONDS.toNanos(targetMs) / Math.max(best, 1)) / Math.log(2);
+        int calibrated = Math.max(minCost, Math.min(maxCost, CALIBRATION_COST + (int) Math.floor(steps)));
+        log.info("BCrypt cost {} for a {} ms target ({} us per hash at cost {})",
+                calibrated, targetMs, TimeUnit.NANOSECONDS.toMicros(best), CALIBRATION_COST);
+        return calibrated;
+    }
+    
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new PasswordHashingBusyException("Too many sign-ins in progress, please retry"));
+        }
+    }
+}
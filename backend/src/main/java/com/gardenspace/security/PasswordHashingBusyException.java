@@ -0,0 +1,9 @@
+package com.gardenspace.security;
+
+/** Thrown when the password hashing queue is full; safe to retry. */
+public class PasswordHashingBusyException extends RuntimeException {
+    
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,74 @@
+package com.gardenspace.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Throttles the expensive writes: sign-in and registration, uploads and
+ * booking POSTs. Each request takes a token from its client IP's bucket and,
+ * once {@link JwtAuthenticationFilter} has run, from its account's bucket;
+ * either one running dry answers {@code 429 Too Many Requests} with a
+ * {@code Retry-After}. Sign-ins are also limited per email, by
+ * {@code AuthController}, since the account is only known from the body.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private final RateLimiter rateLimiter;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimiter.Group group = group(request);
+        if (group != null) {
+            long wait = rateLimiter.tryAcquire(group, "ip:" + request.getRemoteAddr());
+            if (wait == 0) {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal
+                        && principal.email() != null) {
+                    wait = rateLimiter.tryAcquire(group, RateLimiter.account(principal.email()));
+                }
+            }
+            if (wait > 0) {
+                reject(response, wait);
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+    
+    static RateLimiter.Group group(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals("/api/auth/login") || path.equals("/api/auth/register")) {
+            return RateLimiter.Group.AUTH;
+        }
+        if (path.equals("/api/uploads") || path.startsWith("/api/uploads/")) {
+            return RateLimiter.Group.UPLOADS;
+        }
+        if (path.equals("/api/bookings") || path.startsWith("/api/bookings/")) {
+            return RateLimiter.Group.BOOKINGS;
+        }
+        return null;
+    }
+    
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(RateLimiter.retryAfterSeconds(waitNanos)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests, please retry later\"}");
+    }
+}
@@ -0,0 +1,154 @@
+package com.gardenspace.security;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per endpoint group and client (an IP address or an account
+ * email). Each bucket is a single {@link AtomicLong} holding its theoretical
+ * arrival time (GCRA): a request moves it one emission interval forward with
+ * a CAS unless that would put it more than {@code capacity} intervals ahead of
+ * now. Allowing a request is one map lookup and one CAS, with no locks.
+ *
+ * <p>A bucket whose arrival time is in the past has refilled completely and
+ * carries no information, so it can be dropped. Such idle buckets are swept
+ * periodically and, when {@code app.rate-limit.max-keys} is reached, on demand
+ * (at most once a second). If the map is still full after a sweep, new clients
+ * are let through untracked until there is room again.
+ */
+@Component
+public class RateLimiter {
+    
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    public enum Group {
+        AUTH, UPLOADS, BOOKINGS
+    }
+    
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled = true;
+    
+    @Value("${app.rate-limit.max-keys:100000}")
+    private int maxKeys = 100000;
+    
+    @Value("${app.rate-limit.auth.capacity:10}")
+    private int authCapacity = 10;
+    
+    @Value("${app.rate-limit.auth.per-minute:10}")
+    private int authPerMinute = 10;
+    
+    @Value("${app.rate-limit.uploads.capacity:20}")
+    private int uploadsCapacity = 20;
+    
+    @Value("${app.rate-limit.uploads.per-minute:20}")
+    private int uploadsPerMinute = 20;
+    
+    @Value("${app.rate-limit.bookings.capacity:30}")
+    private int bookingsCapacity = 30;
+    
+    @Value("${app.rate-limit.bookings.per-minute:60}")
+    private int bookingsPerMinute = 60;
+    
+    private final Map<Group, Limit> limits = new EnumMap<>(Group.class);
+    private final ConcurrentHashMap<Key, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepNanos = new AtomicLong(System.nanoTime());
+    
+    private record Key(Group group, String client) {
+    }
+    
+    // interval: nanos per token; tolerance: how far ahead of now a bucket may run
+    private record Limit(long interval, long tolerance) {
+        
+        private static Limit of(int capacity, int perMinute) {
+            long interval = TimeUnit.MINUTES.toNanos(1) / Math.max(perMinute, 1);
+            return new Limit(interval, interval * Math.max(capacity, 1));
+        }
+    }
+    
+    @PostConstruct
+    void configure() {
+        limits.put(Group.AUTH, Limit.of(authCapacity, authPerMinute));
+        limits.put(Group.UPLOADS, Limit.of(uploadsCapacity, uploadsPerMinute));
+        limits.put(Group.BOOKINGS, Limit.of(bookingsCapacity, bookingsPerMinute));
+    }
+    
+    /**
+     * Takes a token from the client's bucket in the group.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(Group group, String client) {
+        if (!enabled || client == null) {
+            return 0;
+        }
+        return tryAcquire(group, client, System.nanoTime());
+    }
+    
+    long tryAcquire(Group group, String client, long now) {
+        Limit limit = limits.get(group);
+        AtomicLong bucket = bucket(new Key(group, client), now);
+        if (bucket == null) {
+            return 0;
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival - now, 0) + limit.interval();
+            if (next > limit.tolerance()) {
+                return next - limit.tolerance();
+            }
+            if (bucket.compareAndSet(arrival, now + next)) {
+                return 0;
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        evictIdle(System.nanoTime());
+    }
+    
+    // A request racing the removal may take a token from a dropped bucket: at worst one extra request
+    void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+    
+    /** The client key of an account, shared by its sign-ins and authenticated requests. */
+    public static String account(String email) {
+        return "account:" + email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    /** A Retry-After value in whole seconds, rounded up. */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+    
+    public int size() {
+        return buckets.size();
+    }
+    
+    private AtomicLong bucket(Key key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            long sweepAt = nextSweepNanos.get();
+            if (now - sweepAt >= 0 && nextSweepNanos.compareAndSet(sweepAt, now + SWEEP_INTERVAL_NANOS)) {
+                evictIdle(now);
+            }
+            if (buckets.size() >= maxKeys) {
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+}
@@ -0,0 +1,182 @@
+package com.gardenspace.security;
+
+import com.gardenspace.models.RevokedSession;
+import com.gardenspace.repositories.RevokedSessionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sessions whose access tokens must be rejected before they expire, checked
+ * on every authenticated request without touching the database. A Bloom
+ * filter answers "not revoked" for almost every session in a few bit reads;
+ * only its rare positives (real or false) consult the exact set.
+ *
+ * <p>Both are rebuilt from {@code revoked_sessions} on startup and pick up
+ * revocations made by other instances every {@code sync-interval-ms}.
+ * Entries leave once the session's last access token has expired; the filter,
+ * which cannot forget, is then rebuilt from the exact set.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationList {
+    
+    // Revocations are read back this far before the last sync, for clock skew between instances
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+    
+    private final RevokedSessionRepository revokedSessionRepository;
+    
+    @Value("${jwt.revocation.expected-sessions:10000}")
+    private int expectedSessions = 10000;
+    
+    private final ConcurrentHashMap<UUID, Long> revoked = new ConcurrentHashMap<>(); // session -> expiry millis
+    private volatile BloomFilter filter;
+    private OffsetDateTime syncedAt = OffsetDateTime.now();
+    
+    @PostConstruct
+    void createFilter() {
+        filter = new BloomFilter(expectedSessions);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<RevokedSession> sessions = revokedSessionRepository.findByExpiresAtAfter(now);
+        revoked.clear();
+        sessions.forEach(session -> revoked.put(session.getSessionId(), session.getExpiresAt().toInstant().toEpochMilli()));
+        syncedAt = now;
+        refilter();
+    }
+    
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        OffsetDateTime now = OffsetDateTime.now();
+        revokedSessionRepository.findByRevokedAtAfter(syncedAt.minus(SYNC_OVERLAP))
+                .forEach(session -> add(session.getSessionId(), session.getExpiresAt().toInstant().toEpochMilli()));
+        syncedAt = now;
+        long nowMillis = now.toInstant().toEpochMilli();
+        if (revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis)) {
+            refilter();
+            revokedSessionRepository.deleteExpired(now);
+        }
+    }
+    
+    /**
+     * Rejects the session's access tokens until {@code expiresAtMillis}: here
+     * once the caller's transaction commits, elsewhere on their next sync. A
+     * rolled-back revocation is not applied on any instance.
+     */
+    public void revoke(UUID sessionId, UUID userId, long expiresAtMillis) {
+        revokedSessionRepository.save(new RevokedSession(sessionId, userId, OffsetDateTime.now(),
+                OffsetDateTime.ofInstant(Instant.ofEpochMilli(expiresAtMillis), ZoneOffset.UTC)));
+        afterCommit(() -> {
+            synchronized (this) {
+                add(sessionId, expiresAtMillis);
+            }
+        });
+    }
+    
+    public boolean isRevoked(UUID sessionId) {
+        return sessionId != null && filter.mightContain(sessionId) && revoked.containsKey(sessionId);
+    }
+    
+    public int size() {
+        return revoked.size();
+    }
+    
+    // Exact set first: a reader that sees the filter bit also sees the entry
+    private void add(UUID sessionId, long expiresAtMillis) {
+        revoked.put(sessionId, expiresAtMillis);
+        if (revoked.size() > filter.capacity) {
+            refilter();
+        } else {
+            filter.add(sessionId);
+        }
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    // Callers hold the lock, so no revocation is added to a filter about to be replaced
+    private void refilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedSessions, revoked.size() * 2));
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+    }
+    
+    /** About 1% false positives at capacity: 10 bits and 7 probes per session. */
+    static final class BloomFilter {
+        private static final int BITS_PER_ENTRY = 10;
+        private static final int PROBES = 7;
+        
+        private final int capacity;
+        private final AtomicLongArray words;
+        private final long bits;
+        
+        BloomFilter(int capacity) {
+            this.capacity = Math.max(capacity, 1);
+            this.words = new AtomicLongArray((int) ((long) this.capacity * BITS_PER_ENTRY / 64 + 1));
+            this.bits = (long) words.length() * 64;
+        }
+        
+        void add(UUID key) {
+            long h1 = mix(key.getMostSignificantBits());
+            long h2 = mix(key.getLeastSignificantBits()) | 1;
+            for (int i = 0; i < PROBES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+        
+        boolean mightContain(UUID key) {
+            long h1 = mix(key.getMostSignificantBits());
+            long h2 = mix(key.getLeastSignificantBits()) | 1;
+            for (int i = 0; i < PROBES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        // Murmur3 finalizer, so that sequential or crafted ids still spread over the bits
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            return h ^ (h >>> 33);
+        }
+    }
+}
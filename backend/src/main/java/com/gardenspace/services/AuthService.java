@@ -5,23 +5,41 @@ import com.gardenspace.dto.AuthResponse;
 import com.gardenspace.dto.RegisterRequest;
 import com.gardenspace.models.User;
 import com.gardenspace.repositories.UserRepository;
+import com.gardenspace.security.JwtAuthenticator;
 import com.gardenspace.security.JwtUtil;
+import com.gardenspace.security.PasswordHasher;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
+    private final JwtAuthenticator jwtAuthenticator;
+    private final RefreshTokenService refreshTokenService;
     
-    public AuthResponse register(RegisterRequest request) {
+    // Database work after hashing: the PasswordHasher threads are kept for BCrypt alone
+    @Qualifier("applicationTaskExecutor")
+    private final Executor taskExecutor;
+    
+    /**
+     * Creates the account once its password is hashed. Hashing runs on the
+     * {@link PasswordHasher} pool and saving on the task executor; the future
+     * fails with {@link com.gardenspace.security.PasswordHashingBusyException}
+     * when the pool is saturated.
+     */
+    public CompletableFuture<AuthResponse> register(RegisterRequest request) {
         // Check if user already exists
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
             throw new RuntimeException("Email already registered");
@@ -29,45 +47,86 @@ public class AuthService {
         
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setFullName(request.getFullName());
         user.setRole("admin".equalsIgnoreCase(request.getRole()) 
             ? User.UserRole.ADMIN 
             : User.UserRole.USER);
         
-        user = userRepository.save(user);
-        
-        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name());
-        return AuthResponse.from(token, user);
+        return passwordHasher.encode(request.getPassword()).thenApplyAsync(hash -> {
+            user.setPassword(hash);
+            User saved = userRepository.save(user);
+            return startSession(saved);
+        }, taskExecutor);
     }
     
-    public AuthResponse login(AuthRequest request) {
+    /**
+     * Checks the password on the {@link PasswordHasher} pool and starts the
+     * session on the task executor. A hash stored with a lower cost than the
+     * current one is replaced in the background.
+     */
+    public CompletableFuture<AuthResponse> login(AuthRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid login credentials"));
         
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new RuntimeException("Invalid login credentials");
-        }
-        
-        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name());
-        return AuthResponse.from(token, user);
+        return passwordHasher.matches(request.getPassword(), user.getPassword()).thenApplyAsync(matches -> {
+            if (!matches) {
+                throw new RuntimeException("Invalid login credentials");
+            }
+            if (passwordHasher.needsRehash(user.getPassword())) {
+                rehash(user, request.getPassword());
+            }
+            return startSession(user);
+        }, taskExecutor);
+    }
+    
+    /**
+     * Exchanges a refresh token for a new access token and its successor. The
+     * access token carries the user's current role.
+     *
+     * @throws InvalidRefreshTokenException if the token is not valid (any more)
+     */
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Issued issued = refreshTokenService.rotate(refreshToken);
+        User user = userRepository.findById(issued.userId())
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+        return AuthResponse.from(accessToken(user, issued.sessionId()), issued.token(), user);
+    }
+    
+    /** Ends the refresh token's session, rejecting its access tokens from now on. */
+    public boolean logout(String refreshToken) {
+        return refreshTokenService.endSession(refreshToken);
     }
     
     public Optional<AuthResponse> getCurrentUser(String token) {
         try {
-            if (token.startsWith("Bearer ")) {
-                token = token.substring(7);
-            }
-            
-            if (!jwtUtil.validateToken(token)) {
-                return Optional.empty();
-            }
+            String jwt = token.startsWith("Bearer ") ? token.substring(7) : token;
             
-            UUID userId = jwtUtil.getUserIdFromToken(token);
-            return userRepository.findById(userId)
-                    .map(user -> AuthResponse.from(token, user));
+            // Verified once; the profile fields of the response still come from the database
+            return jwtAuthenticator.authenticate(jwt)
+                    .flatMap(principal -> userRepository.findById(principal.userId()))
+                    .map(user -> AuthResponse.from(jwt, user));
         } catch (Exception e) {
             return Optional.empty();
         }
     }
+    
+    private AuthResponse startSession(User user) {
+        RefreshTokenService.Issued issued = refreshTokenService.startSession(user.getId());
+        return AuthResponse.from(accessToken(user, issued.sessionId()), issued.token(), user);
+    }
+    
+    private String accessToken(User user, UUID sessionId) {
+        return jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name(), sessionId);
+    }
+    
+    // Best effort: if the pool is busy or the password changed meanwhile, a later login tries again
+    private void rehash(User user, String rawPassword) {
+        String previous = user.getPassword();
+        passwordHasher.encode(rawPassword)
+                .thenAcceptAsync(hash -> userRepository.replacePassword(user.getId(), previous, hash), taskExecutor)
+                .exceptionally(e -> {
+                    log.debug("Password rehash for user {} skipped", user.getId(), e);
+                    return null;
+                });
+    }
 }
@@ -0,0 +1,275 @@
+package com.gardenspace.services;
+
+import com.gardenspace.events.BookingChangedEvent;
+import com.gardenspace.models.Booking;
+import com.gardenspace.repositories.BookingRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Optional group commit for booking creation. Concurrent requests are queued
+ * and a single writer thread coalesces them, every {@code max-wait-ms} or
+ * {@code max-batch} bookings, into one transaction: one uniqueness query, one
+ * plot update per garden, one batched insert and one commit. Each caller
+ * blocks on its own future and gets its own booking or error
+ * ({@link DuplicateBookingException}, {@link PlotsUnavailableException}, ...).
+ *
+ * <p>If the batch still fails in the database (a booking inserted outside the
+ * pipeline in the meantime), its bookings are retried one by one through
+ * {@link BookingService#createBooking}, so one bad row never fails the others.
+ *
+ * <p>A caller waits at most {@code timeout-ms} for its batch and then gets
+ * {@link ReservationBusyException}; the booking may still be committed
+ * afterwards. Should the writer thread die, queued callers are failed the
+ * same way and new bookings are created directly.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingCommitPipeline {
+    
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final PlotReservationEngine reservationEngine;
+    private final QuoteEngine quoteEngine;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.bookings.group-commit.enabled:false}")
+    private boolean enabled = false;
+    
+    @Value("${app.bookings.group-commit.max-batch:100}")
+    private int maxBatch = 100;
+    
+    @Value("${app.bookings.group-commit.max-wait-ms:5}")
+    private long maxWaitMs = 5;
+    
+    @Value("${app.bookings.group-commit.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+    
+    @Value("${app.bookings.group-commit.timeout-ms:10000}")
+    private long timeoutMs = 10000;
+    
+    private BlockingQueue<Pending> queue;
+    private Thread writer;
+    private volatile boolean running;
+    
+    record Pending(Booking booking, CompletableFuture<Booking> result) {
+        
+        Pending(Booking booking) {
+            this(booking, new CompletableFuture<>());
+        }
+    }
+    
+    private record Slot(UUID userId, UUID gardenId, LocalDate startDate) {
+        
+        private Slot(Booking booking) {
+            this(booking.getUserId(), booking.getGardenId(), booking.getStartDate());
+        }
+    }
+    
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::run, "booking-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        // Anything queued after the writer drained the queue
+        Pending late;
+        while ((late = queue.poll()) != null) {
+            late.result().completeExceptionally(new ReservationBusyException("Shutting down, please retry"));
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Queues the booking and waits until its batch has committed.
+     *
+     * @throws ReservationBusyException if the queue is full or the batch did not commit within {@code timeout-ms}
+     */
+    public Booking create(Booking booking) {
+        try {
+            return submit(booking).orTimeout(timeoutMs, TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ReservationBusyException("Booking not committed in time, please retry");
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    /** Queues the booking, or creates it at once if the writer has stopped. */
+    public CompletableFuture<Booking> submit(Booking booking) {
+        if (writer == null) {
+            throw new IllegalStateException("Group commit is not running");
+        }
+        if (!running || !writer.isAlive()) {
+            return CompletableFuture.completedFuture(bookingService.createBooking(booking));
+        }
+        Pending pending = new Pending(booking);
+        if (!queue.offer(pending)) {
+            throw new ReservationBusyException("Too many bookings queued, please retry");
+        }
+        return pending.result();
+    }
+    
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        try {
+            while (running) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (batch.size() < maxBatch) {
+                    Pending next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // stop() interrupts the writer: commit what was taken and what is still queued
+            queue.drainTo(batch);
+            for (int from = 0; from < batch.size(); from += maxBatch) {
+                commit(batch.subList(from, Math.min(from + maxBatch, batch.size())));
+            }
+        } catch (RuntimeException | Error e) {
+            log.error("Group commit writer stopped", e);
+            running = false;
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            // Nobody takes these any more; their callers retry on the direct path
+            Pending stranded;
+            while ((stranded = queue.poll()) != null) {
+                stranded.result().completeExceptionally(new ReservationBusyException("Booking writer stopped, please retry"));
+            }
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+    
+    /** Creates the batch's bookings in one transaction and completes every future. */
+    void commit(List<Pending> batch) {
+        List<Pending> accepted = new ArrayList<>(batch.size());
+        Set<Slot> slots = new HashSet<>();
+        for (Pending pending : batch) {
+            Booking booking = pending.booking();
+            try {
+                if (booking.getUserId() == null || booking.getGardenId() == null || booking.getStartDate() == null) {
+                    throw new IllegalArgumentException("userId, gardenId and startDate are required");
+                }
+                booking.setTotalPrice(quoteEngine.totalPrice(booking.getGardenId(), booking.getDurationMonths()));
+                if (!slots.add(new Slot(booking))) {
+                    throw new DuplicateBookingException(booking.getGardenId(), booking.getStartDate());
+                }
+                accepted.add(pending);
+            } catch (RuntimeException e) {
+                pending.result().completeExceptionally(e);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        
+        List<Pending> saved;
+        try {
+            saved = new TransactionTemplate(transactionManager).execute(status -> insert(accepted, slots));
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} bookings failed, creating them one by one", accepted.size(), e);
+            accepted.stream()
+                    .filter(pending -> !pending.result().isDone())
+                    .forEach(this::createAlone);
+            return;
+        }
+        saved.forEach(pending -> pending.result().complete(pending.booking()));
+    }
+    
+    private List<Pending> insert(List<Pending> accepted, Set<Slot> slots) {
+        Set<Slot> taken = new HashSet<>();
+        bookingRepository.findSlots(
+                slots.stream().map(Slot::gardenId).toList(),
+                slots.stream().map(Slot::userId).toList(),
+                slots.stream().map(Slot::startDate).toList())
+                .forEach(slot -> taken.add(new Slot(slot.getUserId(), slot.getGardenId(), slot.getStartDate())));
+        
+        // Plots go to the earliest requests; gardens are updated in id order
+        Map<UUID, List<Pending>> needingPlots = new TreeMap<>();
+        List<Pending> insertable = new ArrayList<>(accepted.size());
+        for (Pending pending : accepted) {
+            Booking booking = pending.booking();
+            if (taken.contains(new Slot(booking))) {
+                pending.result().completeExceptionally(
+                        new DuplicateBookingException(booking.getGardenId(), booking.getStartDate()));
+            } else if (PlotReservationEngine.holdsPlot(booking.getStatus())) {
+                needingPlots.computeIfAbsent(booking.getGardenId(), id -> new ArrayList<>()).add(pending);
+            } else {
+                insertable.add(pending);
+            }
+        }
+        needingPlots.forEach((gardenId, waiting) -> {
+            int plots = reservationEngine.reserveUpTo(gardenId, waiting.size());
+            insertable.addAll(waiting.subList(0, plots));
+            waiting.subList(plots, waiting.size())
+                    .forEach(pending -> pending.result().completeExceptionally(new PlotsUnavailableException(gardenId)));
+        });
+        
+        bookingRepository.saveAll(insertable.stream().map(Pending::booking).toList());
+        bookingRepository.flush();
+        insertable.forEach(pending -> eventPublisher.publishEvent(BookingChangedEvent.created(pending.booking())));
+        return insertable;
+    }
+    
+    private void createAlone(Pending pending) {
+        Booking booking = pending.booking();
+        booking.setId(null); // may have been assigned by the rolled-back batch
+        try {
+            pending.result().complete(bookingService.createBooking(booking));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.gardenspace.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gardenspace.dto.BookingEventPage;
+import com.gardenspace.dto.BookingEventRecord;
+import com.gardenspace.events.BookingChangedEvent;
+import com.gardenspace.events.BookingsTransitionedEvent;
+import com.gardenspace.models.Booking;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of booking transitions, written after commit from
+ * {@link BookingChangedEvent}s and {@link BookingsTransitionedEvent}s and
+ * readable from any offset, so audits and projections consume a sequential
+ * stream instead of querying the bookings table.
+ *
+ * <p>The log is a series of memory-mapped segment files named after the
+ * offset of their first event. A record is {@code [length][CRC32][JSON]};
+ * the length is written last and followed by a zero end marker, so a torn
+ * write is detected by its CRC and cut off on startup. Each segment has an
+ * {@code .idx} file mapping the event's position in the segment to its byte
+ * position, so a read seeks straight to its starting offset.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingEventLog {
+    
+    private static final int HEADER_BYTES = 8; // length + CRC32
+    
+    private final ObjectMapper objectMapper;
+    
+    @Value("${app.bookings.event-log.enabled:true}")
+    private boolean enabled = true;
+    
+    @Value("${app.bookings.event-log.dir:data/booking-events}")
+    private String directory = "data/booking-events";
+    
+    @Value("${app.bookings.event-log.segment-bytes:67108864}")
+    private int segmentBytes = 64 * 1024 * 1024;
+    
+    @Value("${app.bookings.event-log.index-entries:262144}")
+    private int indexEntries = 262144;
+    
+    @Value("${app.bookings.event-log.fsync:false}")
+    private boolean fsync = false;
+    
+    @Value("${app.bookings.event-log.max-read:5000}")
+    private int maxRead = 5000;
+    
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private Segment active;
+    private volatile long endOffset;
+    
+    @PostConstruct
+    synchronized void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path dir = Path.of(directory);
+        Files.createDirectories(dir);
+        List<Long> bases;
+        try (Stream<Path> files = Files.list(dir)) {
+            bases = files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".log"))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - 4)))
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < bases.size() - 1; i++) {
+            Segment sealed = new Segment(dir, bases.get(i));
+            sealed.count = (int) (bases.get(i + 1) - bases.get(i));
+            segments.put(sealed.baseOffset, sealed);
+        }
+        active = new Segment(dir, bases.isEmpty() ? 0 : bases.get(bases.size() - 1));
+        active.recover();
+        segments.put(active.baseOffset, active);
+        endOffset = active.baseOffset + active.count;
+    }
+    
+    @PreDestroy
+    synchronized void close() throws IOException {
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+        active = null;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Booking booking = event.getBooking();
+        String type = event.isDeleted() ? "deleted" : event.getPreviousStatus() == null ? "created" : "status_changed";
+        if (type.equals("status_changed") && event.getPreviousStatus().equals(booking.getStatus())) {
+            return;
+        }
+        appendQuietly(List.of(new BookingEventRecord(0, type, booking.getId(), booking.getUserId(),
+                booking.getGardenId(), event.getPreviousStatus(), booking.getStatus(), OffsetDateTime.now())));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingsTransitioned(BookingsTransitionedEvent event) {
+        OffsetDateTime now = OffsetDateTime.now();
+        appendQuietly(event.getBookings().stream()
+                .map(booking -> new BookingEventRecord(0, "status_changed", booking.getId(), booking.getUserId(),
+                        booking.getGardenId(), booking.getStatus(), event.getStatus(), now))
+                .toList());
+    }
+    
+    /** Appends the records in order, assigning their offsets; returns the offset after the last one. */
+    public synchronized long append(List<BookingEventRecord> records) throws IOException {
+        if (!enabled) {
+            return 0;
+        }
+        for (BookingEventRecord record : records) {
+            record.setOffset(endOffset);
+            byte[] payload = objectMapper.writeValueAsBytes(record);
+            if (!active.fits(payload.length)) {
+                roll();
+            }
+            active.write(payload);
+            endOffset++;
+        }
+        return endOffset;
+    }
+    
+    /**
+     * Up to {@code limit} events starting at offset {@code from}.
+     *
+     * @throws IllegalArgumentException for a negative offset or an out-of-range limit
+     */
+    public BookingEventPage read(long from, int limit) {
+        if (from < 0) {
+            throw new IllegalArgumentException("from must not be negative");
+        }
+        if (limit < 1 || limit > maxRead) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxRead);
+        }
+        long end = endOffset; // records below it are fully written
+        List<BookingEventRecord> events = new ArrayList<>();
+        long offset = from;
+        while (offset < end && events.size() < limit) {
+            Map.Entry<Long, Segment> entry;
+            synchronized (this) {
+                entry = segments.floorEntry(offset);
+            }
+            Segment segment = entry.getValue();
+            long segmentEnd = Math.min(end, segment.baseOffset + segment.count);
+            while (offset < segmentEnd && events.size() < limit) {
+                events.add(segment.read((int) (offset - segment.baseOffset)));
+                offset++;
+            }
+        }
+        return new BookingEventPage(events, Math.min(offset, end), end);
+    }
+    
+    public long getEndOffset() {
+        return endOffset;
+    }
+    
+    // Losing an audit record must not fail a request whose transaction already committed
+    private void appendQuietly(List<BookingEventRecord> records) {
+        try {
+            append(records);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not append {} booking events to the event log", records.size(), e);
+        }
+    }
+    
+    private void roll() throws IOException {
+        active.flush();
+        active = new Segment(Path.of(directory), endOffset);
+        segments.put(active.baseOffset, active);
+    }
+    
+    private final class Segment {
+        private final long baseOffset;
+        private final FileChannel logChannel;
+        private final FileChannel indexChannel;
+        private final MappedByteBuffer data;
+        private final MappedByteBuffer index;
+        private int count;
+        private int position;
+    
+        private Segment(Path dir, long baseOffset) throws IOException {
+            this.baseOffset = baseOffset;
+            String name = String.format("%020d", baseOffset);
+            logChannel = FileChannel.open(dir.resolve(name + ".log"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            indexChannel = FileChannel.open(dir.resolve(name + ".idx"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // Existing segments keep their size even if the configuration changed
+            long logSize = logChannel.size() > 0 ? logChannel.size() : segmentBytes;
+            long indexSize = indexChannel.size() > 0 ? indexChannel.size() : 4L * indexEntries;
+            data = logChannel.map(FileChannel.MapMode.READ_WRITE, 0, logSize);
+            index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, indexSize);
+        }
+    
+        // Scans to the first missing or corrupt record and rebuilds the index on the way
+        private void recover() {
+            int pos = 0;
+            int n = 0;
+            while (n < index.capacity() / 4 && pos + HEADER_BYTES <= data.capacity()) {
+                int length = data.getInt(pos);
+                if (length <= 0 || pos + HEADER_BYTES + length > data.capacity()
+                        || data.getInt(pos + 4) != crc(pos + HEADER_BYTES, length)) {
+                    break;
+                }
+                index.putInt(n * 4, pos);
+                n++;
+                pos += HEADER_BYTES + length;
+            }
+            count = n;
+            position = pos;
+            if (pos + HEADER_BYTES <= data.capacity()) {
+                data.putInt(pos, 0); // cut off a torn write
+            }
+        }
+    
+        private boolean fits(int length) {
+            return count < index.capacity() / 4 && position + HEADER_BYTES + length <= data.capacity();
+        }
+    
+        private void write(byte[] payload) {
+            int pos = position;
+            data.put(pos + HEADER_BYTES, payload);
+            data.putInt(pos + 4, crc(pos + HEADER_BYTES, payload.length));
+            int next = pos + HEADER_BYTES + payload.length;
+            if (next + HEADER_BYTES <= data.capacity()) {
+                data.putInt(next, 0);
+            }
+            data.putInt(pos, payload.length);
+            index.putInt(count * 4, pos);
+            if (fsync) {
+                data.force(pos, next - pos);
+                index.force(count * 4, 4);
+            }
+            count++;
+            position = next;
+        }
+    
+        private BookingEventRecord read(int relativeOffset) {
+            int pos = index.getInt(relativeOffset * 4);
+            int length = data.getInt(pos);
+            if (length <= 0 || data.getInt(pos + 4) != crc(pos + HEADER_BYTES, length)) {
+                throw new IllegalStateException("Corrupt booking event at offset " + (baseOffset + relativeOffset));
+            }
+            byte[] payload = new byte[length];
+            data.get(pos + HEADER_BYTES, payload);
+            try {
+                return objectMapper.readValue(payload, BookingEventRecord.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    
+        private int crc(int pos, int length) {
+            CRC32 crc = new CRC32();
+            crc.update(data.slice(pos, length));
+            return (int) crc.getValue();
+        }
+    
+        private void flush() {
+            data.force();
+            index.force();
+        }
+    
+        private void close() throws IOException {
+            flush();
+            logChannel.close();
+            indexChannel.close();
+        }
+    }
+}
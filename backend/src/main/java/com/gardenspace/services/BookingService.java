@@ -1,12 +1,36 @@
 package com.gardenspace.services;
 
+import com.gardenspace.dto.BookingCursor;
+import com.gardenspace.dto.BookingFilter;
+import com.gardenspace.dto.BulkTransitionResult;
+import com.gardenspace.dto.CursorPage;
+import com.gardenspace.events.BookingChangedEvent;
+import com.gardenspace.events.BookingsTransitionedEvent;
 import com.gardenspace.models.Booking;
+import com.gardenspace.models.WaitlistEntry;
 import com.gardenspace.repositories.BookingRepository;
+import com.gardenspace.repositories.BookingSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Service
@@ -14,6 +38,28 @@ import java.util.UUID;
 public class BookingService {
     
     private final BookingRepository bookingRepository;
+    private final PlotReservationEngine reservationEngine;
+    private final QuoteEngine quoteEngine;
+    private final GardenWaitlist waitlist;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    // Statuses bookings can be moved to in bulk
+    private static final List<String> BULK_STATUSES = List.of("confirmed", "cancelled");
+    
+    // Statuses that lapse after their TTL: checkout holds and waitlist offers
+    private static final List<String> EXPIRING_STATUSES = List.of("pending", "offered");
+    
+    // Keeps IN lists well below database bind-parameter limits
+    private static final int IN_LIST_CHUNK = 1000;
+    
+    @Value("${app.bookings.bulk.max-ids:10000}")
+    private int maxBulkIds = 10000;
+    
+    @Value("${app.bookings.page.default-size:20}")
+    private int defaultPageSize = 20;
+    
+    @Value("${app.bookings.page.max-size:100}")
+    private int maxPageSize = 100;
     
     public List<Booking> getAllBookings() {
         return bookingRepository.findAll();
@@ -31,37 +77,302 @@ public class BookingService {
         return bookingRepository.findByGardenId(gardenId);
     }
     
+    public CursorPage<Booking> getBookingsPageByUser(UUID userId, BookingFilter filter, String cursor, Integer limit) {
+        return loadPage(BookingSpecifications.hasUser(userId), filter, cursor, limit);
+    }
+    
+    public CursorPage<Booking> getBookingsPageByGarden(UUID gardenId, BookingFilter filter, String cursor, Integer limit) {
+        return loadPage(BookingSpecifications.hasGarden(gardenId), filter, cursor, limit);
+    }
+    
+    /**
+     * The total price is always quoted here; whatever the client sent is
+     * ignored. A booking created as confirmed takes its plot right away.
+     *
+     * @throws DuplicateBookingException if the user already has a booking in the garden starting that day
+     */
+    @Transactional
     public Booking createBooking(Booking booking) {
-        return bookingRepository.save(booking);
+        booking.setTotalPrice(quoteEngine.totalPrice(booking.getGardenId(), booking.getDurationMonths()));
+        if (PlotReservationEngine.holdsPlot(booking.getStatus())) {
+            reservationEngine.reserve(booking.getGardenId());
+        }
+        Booking saved;
+        try {
+            // Flushed here so a uniqueness violation surfaces before commit, as a 409
+            saved = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e, booking);
+        }
+        eventPublisher.publishEvent(BookingChangedEvent.created(saved));
+        return saved;
     }
     
+    /** Maps a violation of {@code one_booking_per_user_garden} to a {@link DuplicateBookingException}. */
+    static RuntimeException translate(DataIntegrityViolationException e, Booking booking) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage());
+        if (message.toLowerCase().contains(DuplicateBookingException.CONSTRAINT)) {
+            return new DuplicateBookingException(booking.getGardenId(), booking.getStartDate());
+        }
+        return e;
+    }
+    
+    @Transactional
     public Optional<Booking> updateBookingStatus(UUID id, String status) {
         return bookingRepository.findById(id).map(booking -> {
-            booking.setStatus(status);
+            transition(booking, status);
             return bookingRepository.save(booking);
         });
     }
     
+    @Transactional
     public Optional<Booking> confirmBooking(UUID id, String paymentMethod) {
         return bookingRepository.findById(id).map(booking -> {
-            booking.setStatus("confirmed");
+            transition(booking, "confirmed");
             booking.setPaymentMethod(paymentMethod);
             return bookingRepository.save(booking);
         });
     }
     
+    @Transactional
     public Optional<Booking> cancelBooking(UUID id) {
         return bookingRepository.findById(id).map(booking -> {
-            booking.setStatus("cancelled");
+            transition(booking, "cancelled");
             return bookingRepository.save(booking);
         });
     }
     
+    @Transactional
     public boolean deleteBooking(UUID id) {
-        if (bookingRepository.existsById(id)) {
-            bookingRepository.deleteById(id);
+        return bookingRepository.findById(id).map(booking -> {
+            bookingRepository.delete(booking);
+            if (PlotReservationEngine.holdsPlot(booking.getStatus())) {
+                returnPlots(booking.getGardenId(), 1);
+            }
+            eventPublisher.publishEvent(BookingChangedEvent.deleted(booking));
             return true;
+        }).orElse(false);
+    }
+    
+    /**
+     * Moves many bookings to {@code status} in one transaction with set-based
+     * UPDATEs: one per previous status and chunk of ids, plus one plot
+     * adjustment per garden (gardens in id order). When a garden runs out of
+     * plots, the bookings requested first get the remaining ones.
+     *
+     * @throws IllegalArgumentException            for an unknown status or an empty/oversized id list
+     * @throws OptimisticLockingFailureException if a booking changed status meanwhile (nothing is applied)
+     */
+    @Transactional
+    public BulkTransitionResult transitionAll(List<UUID> ids, String status) {
+        if (!BULK_STATUSES.contains(status)) {
+            throw new IllegalArgumentException("status must be one of " + BULK_STATUSES);
+        }
+        if (ids == null || ids.isEmpty() || ids.size() > maxBulkIds) {
+            throw new IllegalArgumentException("ids must contain between 1 and " + maxBulkIds + " booking ids");
+        }
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<UUID, BookingRepository.State> states = new HashMap<>();
+        for (List<UUID> chunk : chunks(distinct)) {
+            bookingRepository.findStatesByIdIn(chunk).forEach(state -> states.put(state.getId(), state));
+        }
+        
+        boolean holds = PlotReservationEngine.holdsPlot(status);
+        Map<UUID, String> results = new HashMap<>();
+        List<BookingRepository.State> changing = new ArrayList<>();
+        TreeMap<UUID, List<BookingRepository.State>> plotChanges = new TreeMap<>();
+        for (UUID id : distinct) {
+            BookingRepository.State state = states.get(id);
+            if (state == null) {
+                results.put(id, "not_found");
+            } else if (status.equals(state.getStatus())) {
+                results.put(id, "unchanged");
+            } else if (PlotReservationEngine.holdsPlot(state.getStatus()) != holds) {
+                plotChanges.computeIfAbsent(state.getGardenId(), gardenId -> new ArrayList<>()).add(state);
+            } else {
+                changing.add(state);
+            }
+        }
+        plotChanges.forEach((gardenId, bookings) -> {
+            if (holds) {
+                int taken = reservationEngine.reserveUpTo(gardenId, bookings.size());
+                changing.addAll(bookings.subList(0, taken));
+                bookings.subList(taken, bookings.size()).forEach(state -> results.put(state.getId(), "no_plots"));
+            } else {
+                changing.addAll(bookings);
+            }
+        });
+        
+        OffsetDateTime now = OffsetDateTime.now();
+        Map<String, List<UUID>> byPreviousStatus = new LinkedHashMap<>();
+        changing.forEach(state -> byPreviousStatus.computeIfAbsent(state.getStatus(), previous -> new ArrayList<>()).add(state.getId()));
+        byPreviousStatus.forEach((previous, bookingIds) -> {
+            for (List<UUID> chunk : chunks(bookingIds)) {
+                if (bookingRepository.updateStatus(chunk, previous, status, now) != chunk.size()) {
+                    throw new OptimisticLockingFailureException("Bookings changed while being updated, please retry");
+                }
+            }
+        });
+        changing.forEach(state -> results.put(state.getId(), "updated"));
+        if (!changing.isEmpty()) {
+            eventPublisher.publishEvent(new BookingsTransitionedEvent(changing, status));
+        }
+        if (!holds) {
+            plotChanges.forEach((gardenId, bookings) -> returnPlots(gardenId, bookings.size()));
+        }
+        
+        List<BulkTransitionResult.Item> items = distinct.stream()
+                .map(id -> new BulkTransitionResult.Item(id, results.get(id),
+                        states.containsKey(id) ? states.get(id).getStatus() : null))
+                .toList();
+        return new BulkTransitionResult(changing.size(), items);
+    }
+    
+    /**
+     * Cancels abandoned checkouts and unanswered waitlist offers with one
+     * conditional UPDATE per status; bookings that were confirmed or cancelled
+     * in the meantime are left alone. Plots of expired offers go to the next
+     * user on the waitlist.
+     */
+    @Transactional
+    public int expirePendingBookings(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<String, List<BookingRepository.State>> byStatus = new LinkedHashMap<>();
+        bookingRepository.findStatesByIdIn(ids).stream()
+                .filter(state -> EXPIRING_STATUSES.contains(state.getStatus()))
+                .forEach(state -> byStatus.computeIfAbsent(state.getStatus(), status -> new ArrayList<>()).add(state));
+        
+        OffsetDateTime now = OffsetDateTime.now();
+        List<BookingRepository.State> expired = new ArrayList<>();
+        byStatus.forEach((status, states) -> {
+            List<UUID> stateIds = states.stream().map(BookingRepository.State::getId).toList();
+            if (bookingRepository.updateStatus(stateIds, status, "cancelled", now) == states.size()) {
+                expired.addAll(states);
+                return;
+            }
+            // A checkout completed in between; only report the rows actually cancelled
+            List<UUID> cancelled = bookingRepository.findStatesByIdIn(stateIds).stream()
+                    .filter(state -> "cancelled".equals(state.getStatus()))
+                    .map(BookingRepository.State::getId)
+                    .toList();
+            states.stream().filter(state -> cancelled.contains(state.getId())).forEach(expired::add);
+        });
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        eventPublisher.publishEvent(new BookingsTransitionedEvent(expired, "cancelled"));
+        Map<UUID, Integer> freedPlots = new TreeMap<>();
+        expired.stream()
+                .filter(state -> PlotReservationEngine.holdsPlot(state.getStatus()))
+                .forEach(state -> freedPlots.merge(state.getGardenId(), 1, Integer::sum));
+        freedPlots.forEach(this::returnPlots);
+        return expired.size();
+    }
+    
+    // Takes or returns the plot when the status crosses the "holds a plot" line
+    private void transition(Booking booking, String status) {
+        String previousStatus = booking.getStatus();
+        boolean held = PlotReservationEngine.holdsPlot(previousStatus);
+        boolean holds = PlotReservationEngine.holdsPlot(status);
+        if (holds && !held) {
+            reservationEngine.reserve(booking.getGardenId());
+        }
+        booking.setStatus(status);
+        eventPublisher.publishEvent(BookingChangedEvent.statusChanged(booking, previousStatus));
+        if (held && !holds) {
+            returnPlots(booking.getGardenId(), 1);
+        }
+    }
+    
+    /**
+     * Hands freed plots to the garden's waitlist as {@code offered} bookings,
+     * which keep the plot without it ever going back on sale; plots nobody is
+     * waiting for are returned to the garden.
+     */
+    private void returnPlots(UUID gardenId, int plots) {
+        int offered = 0;
+        while (offered < plots) {
+            Optional<WaitlistEntry> next = waitlist.pollNext(gardenId);
+            if (next.isEmpty()) {
+                break;
+            }
+            if (offer(next.get())) {
+                offered++;
+            }
+        }
+        int unclaimed = plots - offered;
+        if (unclaimed == 1) {
+            reservationEngine.release(gardenId);
+        } else if (unclaimed > 1) {
+            reservationEngine.release(gardenId, unclaimed);
+        }
+    }
+    
+    private boolean offer(WaitlistEntry entry) {
+        LocalDate startDate = entry.getStartDate().isBefore(LocalDate.now()) ? LocalDate.now() : entry.getStartDate();
+        if (bookingRepository.existsByUserIdAndGardenIdAndStartDate(entry.getUserId(), entry.getGardenId(), startDate)) {
+            return false; // one_booking_per_user_garden: the user already holds that slot
+        }
+        Booking booking = new Booking();
+        booking.setUserId(entry.getUserId());
+        booking.setGardenId(entry.getGardenId());
+        booking.setStartDate(startDate);
+        booking.setEndDate(startDate.plusMonths(entry.getDurationMonths()));
+        booking.setDurationMonths(entry.getDurationMonths());
+        booking.setTotalPrice(quoteEngine.totalPrice(entry.getGardenId(), entry.getDurationMonths()));
+        booking.setStatus("offered");
+        Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.created(saved));
+        return true;
+    }
+    
+    private static List<List<UUID>> chunks(List<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_LIST_CHUNK) {
+            chunks.add(ids.subList(from, Math.min(from + IN_LIST_CHUNK, ids.size())));
+        }
+        return chunks;
+    }
+    
+    /**
+     * Keyset page over (startDate, id), newest first unless the filter asks for
+     * {@code sort=startDate}. The owner, status and start-date predicates line up
+     * with the composite indexes declared on {@link Booking}.
+     */
+    private CursorPage<Booking> loadPage(Specification<Booking> owner, BookingFilter filter,
+                                         String cursor, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : limit;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        }
+        BookingFilter criteria = filter == null ? new BookingFilter() : filter;
+        boolean descending;
+        if (criteria.getSort() == null || criteria.getSort().equals("-startDate")) {
+            descending = true;
+        } else if (criteria.getSort().equals("startDate")) {
+            descending = false;
+        } else {
+            throw new IllegalArgumentException("sort must be startDate or -startDate");
+        }
+        if (criteria.getFrom() != null && criteria.getTo() != null && criteria.getFrom().isAfter(criteria.getTo())) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        Specification<Booking> spec = owner
+                .and(BookingSpecifications.hasStatus(criteria.getStatus()))
+                .and(BookingSpecifications.startsBetween(criteria.getFrom(), criteria.getTo()))
+                .and(BookingSpecifications.after(BookingCursor.decode(cursor), descending));
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        List<Booking> rows = bookingRepository.findBy(spec, query -> query
+                .sortBy(Sort.by(direction, "startDate", "id"))
+                .limit(pageSize + 1)
+                .all());
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
         }
-        return false;
+        List<Booking> items = rows.subList(0, pageSize);
+        Booking last = items.get(pageSize - 1);
+        return new CursorPage<>(items, new BookingCursor(last.getStartDate(), last.getId()).encode());
     }
 }
@@ -0,0 +1,207 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.AdminSummary;
+import com.gardenspace.events.BookingChangedEvent;
+import com.gardenspace.events.BookingsTransitionedEvent;
+import com.gardenspace.events.GardenChangedEvent;
+import com.gardenspace.events.GardensImportedEvent;
+import com.gardenspace.models.Booking;
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.BookingRepository;
+import com.gardenspace.repositories.GardenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-garden booking counters for the admin dashboard: bookings by status
+ * and confirmed revenue (in minor units). Booking events move the counters
+ * after commit, so a summary costs O(gardens) whatever the number of
+ * bookings. A periodic reconcile recounts from the database with one
+ * GROUP BY, correcting drift from events lost in a crash or racing the
+ * previous recount.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingSummaryCounters {
+    
+    private static final int SCALE = 2;
+    
+    private final GardenRepository gardenRepository;
+    private final BookingRepository bookingRepository;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<UUID, Counters> counters = new HashMap<>();
+    
+    private static final class Counters {
+        private boolean known; // false for bookings of a garden not loaded yet
+        private UUID ownerId;
+        private String name;
+        private int totalPlots;
+        private final Map<String, Long> bookingsByStatus = new TreeMap<>();
+        private long confirmedRevenue;
+        
+        private void add(String status, BigDecimal totalPrice, int bookings) {
+            bookingsByStatus.merge(status, (long) bookings, (current, delta) -> current + delta == 0 ? null : current + delta);
+            if ("confirmed".equals(status)) {
+                confirmedRevenue += minorUnits(totalPrice) * bookings;
+            }
+        }
+        
+        private int occupiedPlots() {
+            return PlotReservationEngine.PLOT_HOLDING_STATUSES.stream()
+                    .mapToInt(status -> bookingsByStatus.getOrDefault(status, 0L).intValue())
+                    .sum();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.admin.summary.reconcile-interval-ms:600000}",
+               fixedDelayString = "${app.admin.summary.reconcile-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Map<UUID, Counters> recounted = new HashMap<>();
+        gardenRepository.findHeaders().forEach(header -> {
+            Counters garden = new Counters();
+            garden.known = true;
+            garden.ownerId = header.getOwnerId();
+            garden.name = header.getName();
+            garden.totalPlots = header.getTotalPlots() == null ? 0 : header.getTotalPlots();
+            recounted.put(header.getId(), garden);
+        });
+        for (BookingRepository.StatusTotal total : bookingRepository.sumByGardenAndStatus()) {
+            Counters garden = recounted.computeIfAbsent(total.getGardenId(), id -> new Counters());
+            garden.bookingsByStatus.put(total.getStatus(), total.getBookings());
+            if ("confirmed".equals(total.getStatus())) {
+                garden.confirmedRevenue = minorUnits(total.getTotalPrice());
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            counters = recounted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Booking booking = event.getBooking();
+        lock.writeLock().lock();
+        try {
+            Counters garden = counters.computeIfAbsent(booking.getGardenId(), id -> new Counters());
+            if (event.isDeleted()) {
+                garden.add(booking.getStatus(), booking.getTotalPrice(), -1);
+            } else if (event.getPreviousStatus() == null) {
+                garden.add(booking.getStatus(), booking.getTotalPrice(), 1);
+            } else if (!event.getPreviousStatus().equals(booking.getStatus())) {
+                garden.add(event.getPreviousStatus(), booking.getTotalPrice(), -1);
+                garden.add(booking.getStatus(), booking.getTotalPrice(), 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingsTransitioned(BookingsTransitionedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (BookingRepository.State booking : event.getBookings()) {
+                Counters garden = counters.computeIfAbsent(booking.getGardenId(), id -> new Counters());
+                garden.add(booking.getStatus(), booking.getTotalPrice(), -1);
+                garden.add(event.getStatus(), booking.getTotalPrice(), 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGardenChanged(GardenChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.isDeleted()) {
+                counters.remove(event.getGardenId());
+            } else {
+                describe(event.getGarden());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGardensImported(GardensImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getGardens().forEach(this::describe);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /** Summary over all gardens, or only those of {@code ownerId} when given. */
+    public AdminSummary summary(UUID ownerId) {
+        List<AdminSummary.GardenSummary> gardens = new ArrayList<>();
+        Map<String, Long> bookingsByStatus = new TreeMap<>();
+        long revenue = 0;
+        int totalPlots = 0;
+        int occupiedPlots = 0;
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<UUID, Counters> entry : counters.entrySet()) {
+                Counters garden = entry.getValue();
+                if (!garden.known || (ownerId != null && !ownerId.equals(garden.ownerId))) {
+                    continue;
+                }
+                int occupied = garden.occupiedPlots();
+                gardens.add(new AdminSummary.GardenSummary(entry.getKey(), garden.name, garden.ownerId,
+                        new TreeMap<>(garden.bookingsByStatus), BigDecimal.valueOf(garden.confirmedRevenue, SCALE),
+                        garden.totalPlots, occupied, occupancy(occupied, garden.totalPlots)));
+                garden.bookingsByStatus.forEach((status, count) -> bookingsByStatus.merge(status, count, Long::sum));
+                revenue += garden.confirmedRevenue;
+                totalPlots += garden.totalPlots;
+                occupiedPlots += occupied;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        gardens.sort(Comparator.comparing(AdminSummary.GardenSummary::getName, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(AdminSummary.GardenSummary::getGardenId));
+        return new AdminSummary(bookingsByStatus, BigDecimal.valueOf(revenue, SCALE), totalPlots, occupiedPlots,
+                occupancy(occupiedPlots, totalPlots), gardens);
+    }
+    
+    private void describe(Garden garden) {
+        Counters counts = counters.computeIfAbsent(garden.getId(), id -> new Counters());
+        counts.known = true;
+        counts.ownerId = garden.getOwnerId();
+        counts.name = garden.getName();
+        counts.totalPlots = garden.getTotalPlots() == null ? 0 : garden.getTotalPlots();
+    }
+    
+    private static double occupancy(int occupiedPlots, int totalPlots) {
+        return totalPlots == 0 ? 0 : (double) occupiedPlots / totalPlots;
+    }
+    
+    private static long minorUnits(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,18 @@
+package com.gardenspace.services;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Thrown when a user already has a booking in the garden starting on the same
+ * day; the message carries the name of the database constraint the frontend
+ * looks for.
+ */
+public class DuplicateBookingException extends RuntimeException {
+    
+    public static final String CONSTRAINT = "one_booking_per_user_garden";
+    
+    public DuplicateBookingException(UUID gardenId, LocalDate startDate) {
+        super(CONSTRAINT + ": a booking in garden " + gardenId + " starting on " + startDate + " already exists");
+    }
+}
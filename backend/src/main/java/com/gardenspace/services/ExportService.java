@@ -0,0 +1,221 @@
+package com.gardenspace.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gardenspace.models.Booking;
+import com.gardenspace.models.Garden;
+import com.gardenspace.models.User;
+import com.gardenspace.repositories.BookingRepository;
+import com.gardenspace.repositories.GardenRepository;
+import com.gardenspace.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables out as NDJSON or CSV with constant memory: rows come
+ * from a repository cursor, are written in chunks, and the persistence
+ * context is cleared after every chunk so written rows can be collected.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+    
+    private final BookingRepository bookingRepository;
+    private final GardenRepository gardenRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${app.export.chunk-size:500}")
+    private int chunkSize = 500;
+    
+    public enum Dataset {
+        BOOKINGS, GARDENS, USERS;
+        
+        public static Dataset parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown export: " + value);
+            }
+        }
+    }
+    
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+        
+        private final String mediaType;
+        private final String extension;
+        
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+        
+        public String mediaType() {
+            return mediaType;
+        }
+        
+        public String extension() {
+            return extension;
+        }
+        
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("format must be ndjson or csv");
+            }
+        }
+    }
+    
+    private record Column<T>(String name, Function<T, Object> value) {
+    }
+    
+    private static final List<Column<Booking>> BOOKING_COLUMNS = List.of(
+            new Column<>("id", Booking::getId),
+            new Column<>("userId", Booking::getUserId),
+            new Column<>("gardenId", Booking::getGardenId),
+            new Column<>("startDate", Booking::getStartDate),
+            new Column<>("endDate", Booking::getEndDate),
+            new Column<>("durationMonths", Booking::getDurationMonths),
+            new Column<>("totalPrice", Booking::getTotalPrice),
+            new Column<>("status", Booking::getStatus),
+            new Column<>("paymentMethod", Booking::getPaymentMethod),
+            new Column<>("createdAt", Booking::getCreatedAt),
+            new Column<>("updatedAt", Booking::getUpdatedAt));
+    
+    private static final List<Column<Garden>> GARDEN_COLUMNS = List.of(
+            new Column<>("id", Garden::getId),
+            new Column<>("name", Garden::getName),
+            new Column<>("description", Garden::getDescription),
+            new Column<>("address", Garden::getAddress),
+            new Column<>("latitude", Garden::getLatitude),
+            new Column<>("longitude", Garden::getLongitude),
+            new Column<>("totalPlots", Garden::getTotalPlots),
+            new Column<>("availablePlots", Garden::getAvailablePlots),
+            new Column<>("basePricePerMonth", Garden::getBasePricePerMonth),
+            new Column<>("sizeSqm", Garden::getSizeSqm),
+            new Column<>("ownerId", Garden::getOwnerId),
+            new Column<>("amenities", Garden::getAmenities),
+            new Column<>("images", Garden::getImages),
+            new Column<>("createdAt", Garden::getCreatedAt),
+            new Column<>("updatedAt", Garden::getUpdatedAt));
+    
+    // Password hashes never leave the database
+    private static final List<Column<User>> USER_COLUMNS = List.of(
+            new Column<>("id", User::getId),
+            new Column<>("fullName", User::getFullName),
+            new Column<>("email", User::getEmail),
+            new Column<>("avatarUrl", User::getAvatarUrl),
+            new Column<>("role", User::getRole),
+            new Column<>("createdAt", User::getCreatedAt),
+            new Column<>("updatedAt", User::getUpdatedAt));
+    
+    /** Writes the dataset to {@code out}; runs its own read-only transaction. */
+    public void export(Dataset dataset, Format format, OutputStream out) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            switch (dataset) {
+                case BOOKINGS -> write(bookingRepository.streamAll(), BOOKING_COLUMNS, format, out, chunk -> { });
+                case GARDENS -> write(gardenRepository.streamAll(), GARDEN_COLUMNS, format, out,
+                        gardenRepository::fetchCollections);
+                case USERS -> write(userRepository.streamAll(), USER_COLUMNS, format, out, chunk -> { });
+            }
+        });
+    }
+    
+    private <T> void write(Stream<T> rows, List<Column<T>> columns, Format format, OutputStream out,
+                           Consumer<List<T>> prepareChunk) {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        try (rows) {
+            if (format == Format.CSV) {
+                buffered.write(csvLine(columns.stream().map(Column::name).toList()));
+            }
+            List<T> chunk = new ArrayList<>(chunkSize);
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    // Collections are loaded per chunk, not per row
+                    prepareChunk.accept(chunk);
+                    for (T row : chunk) {
+                        buffered.write(format == Format.CSV ? csvRow(row, columns) : jsonRow(row, columns));
+                    }
+                    buffered.flush();
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+            buffered.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private <T> byte[] jsonRow(T row, List<Column<T>> columns) throws IOException {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (Column<T> column : columns) {
+            fields.put(column.name(), column.value().apply(row));
+        }
+        byte[] json = objectMapper.writeValueAsBytes(fields);
+        byte[] line = new byte[json.length + 1];
+        System.arraycopy(json, 0, line, 0, json.length);
+        line[json.length] = '\n';
+        return line;
+    }
+    
+    private <T> byte[] csvRow(T row, List<Column<T>> columns) {
+        List<String> cells = new ArrayList<>(columns.size());
+        for (Column<T> column : columns) {
+            Object value = column.value().apply(row);
+            if (value == null) {
+                cells.add("");
+            } else if (value instanceof Collection<?> values) {
+                cells.add(values.stream().map(String::valueOf).collect(Collectors.joining(";")));
+            } else {
+                cells.add(value.toString());
+            }
+        }
+        return csvLine(cells);
+    }
+    
+    private static byte[] csvLine(List<String> cells) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            String cell = cells.get(i);
+            if (cell.indexOf(',') >= 0 || cell.indexOf('"') >= 0 || cell.indexOf('\n') >= 0 || cell.indexOf('\r') >= 0) {
+                line.append('"').append(cell.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(cell);
+            }
+        }
+        return line.append("\r\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,204 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.GardenAvailability;
+import com.gardenspace.events.BookingChangedEvent;
+import com.gardenspace.events.BookingsTransitionedEvent;
+import com.gardenspace.events.GardenChangedEvent;
+import com.gardenspace.events.GardensImportedEvent;
+import com.gardenspace.models.Booking;
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.BookingRepository;
+import com.gardenspace.repositories.GardenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Month-bucketed plot occupancy per garden, built from plot-holding bookings.
+ * A booking occupies every calendar month its [startDate, endDate) stay
+ * touches, so "free from May to September" is the total minus the busiest
+ * month in that range, without scanning bookings.
+ *
+ * <p>Kept current by {@link BookingChangedEvent}s (after commit) and garden
+ * events for plot totals; rebuilt from the database on startup.
+ */
+@Component
+@RequiredArgsConstructor
+public class GardenAvailabilityCalendar {
+    
+    private final GardenRepository gardenRepository;
+    private final BookingRepository bookingRepository;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Calendar> calendars = new HashMap<>();
+    
+    public record Hit(UUID gardenId, int freePlots) {
+    }
+    
+    private static final class Calendar {
+        private int totalPlots;
+        // month index (year * 12 + month - 1) -> plots booked in that month
+        private final Map<Integer, Integer> booked = new HashMap<>();
+        
+        private Calendar(int totalPlots) {
+            this.totalPlots = totalPlots;
+        }
+        
+        private int maxBooked(int fromMonth, int toMonth) {
+            int max = 0;
+            for (int month = fromMonth; month <= toMonth; month++) {
+                max = Math.max(max, booked.getOrDefault(month, 0));
+            }
+            return max;
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<GardenRepository.PlotTotal> totals = gardenRepository.findPlotTotals();
+        List<BookingRepository.Stay> stays = bookingRepository.findByStatusIn(PlotReservationEngine.PLOT_HOLDING_STATUSES);
+        lock.writeLock().lock();
+        try {
+            calendars.clear();
+            totals.forEach(total -> calendars.put(total.getId(), new Calendar(total.getTotalPlots())));
+            stays.forEach(stay -> book(stay.getGardenId(), stay.getStartDate(), stay.getEndDate(), 1));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Booking booking = event.getBooking();
+        boolean held = event.getPreviousStatus() != null && PlotReservationEngine.holdsPlot(event.getPreviousStatus());
+        boolean holds = !event.isDeleted() && PlotReservationEngine.holdsPlot(booking.getStatus());
+        if (held == holds) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            book(booking.getGardenId(), booking.getStartDate(), booking.getEndDate(), holds ? 1 : -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingsTransitioned(BookingsTransitionedEvent event) {
+        boolean holds = PlotReservationEngine.holdsPlot(event.getStatus());
+        lock.writeLock().lock();
+        try {
+            event.getBookings().stream()
+                    .filter(booking -> PlotReservationEngine.holdsPlot(booking.getStatus()) != holds)
+                    .forEach(booking -> book(booking.getGardenId(), booking.getStartDate(), booking.getEndDate(), holds ? 1 : -1));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGardenChanged(GardenChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.isDeleted()) {
+                calendars.remove(event.getGardenId());
+            } else {
+                setTotal(event.getGarden());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGardensImported(GardensImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getGardens().forEach(this::setTotal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /** Per-month occupancy of one garden between two months (inclusive). */
+    public Optional<GardenAvailability> availability(UUID gardenId, YearMonth from, YearMonth to) {
+        lock.readLock().lock();
+        try {
+            Calendar calendar = calendars.get(gardenId);
+            if (calendar == null) {
+                return Optional.empty();
+            }
+            List<GardenAvailability.Month> months = new ArrayList<>();
+            int maxBooked = 0;
+            for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                int booked = calendar.booked.getOrDefault(index(month), 0);
+                maxBooked = Math.max(maxBooked, booked);
+                months.add(new GardenAvailability.Month(month, booked, Math.max(0, calendar.totalPlots - booked)));
+            }
+            return Optional.of(new GardenAvailability(gardenId, calendar.totalPlots,
+                    Math.max(0, calendar.totalPlots - maxBooked), months));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Gardens with at least {@code minPlots} plots free in every month of the
+     * range, most free plots first (ties by id, so the order is stable).
+     */
+    public List<Hit> withFreePlots(YearMonth from, YearMonth to, int minPlots) {
+        int fromMonth = index(from);
+        int toMonth = index(to);
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            calendars.forEach((gardenId, calendar) -> {
+                int free = calendar.totalPlots - calendar.maxBooked(fromMonth, toMonth);
+                if (free >= minPlots) {
+                    hits.add(new Hit(gardenId, free));
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingInt(Hit::freePlots).reversed().thenComparing(Hit::gardenId));
+        return hits;
+    }
+    
+    private void setTotal(Garden garden) {
+        int totalPlots = garden.getTotalPlots() == null ? 0 : garden.getTotalPlots();
+        calendars.computeIfAbsent(garden.getId(), id -> new Calendar(totalPlots)).totalPlots = totalPlots;
+    }
+    
+    private void book(UUID gardenId, LocalDate startDate, LocalDate endDate, int plots) {
+        Calendar calendar = calendars.get(gardenId);
+        if (calendar == null || startDate == null || endDate == null || !endDate.isAfter(startDate)) {
+            return;
+        }
+        // endDate is exclusive: a stay from 1 May to 1 August covers May-July
+        int last = index(YearMonth.from(endDate.minusDays(1)));
+        for (int month = index(YearMonth.from(startDate)); month <= last; month++) {
+            calendar.booked.merge(month, plots, (current, delta) -> current + delta == 0 ? null : current + delta);
+        }
+    }
+    
+    private static int index(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+}
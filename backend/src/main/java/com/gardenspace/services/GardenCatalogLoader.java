@@ -0,0 +1,36 @@
+package com.gardenspace.services;
+
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.GardenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Database fallback for the catalog listings while {@link GardenCatalogSnapshot}
+ * is disabled or not loaded yet. A bean of its own so that only this path
+ * opens a transaction; a snapshot hit never takes a connection.
+ */
+@Component
+@RequiredArgsConstructor
+public class GardenCatalogLoader {
+    
+    private final GardenRepository gardenRepository;
+    
+    @Transactional(readOnly = true)
+    public List<Garden> loadAll() {
+        return withCollections(gardenRepository.findAll());
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Garden> loadAvailable() {
+        return withCollections(gardenRepository.findByAvailablePlotsGreaterThan(0));
+    }
+    
+    private List<Garden> withCollections(List<Garden> gardens) {
+        gardenRepository.fetchCollections(gardens);
+        return gardens;
+    }
+}
@@ -0,0 +1,353 @@
+package com.gardenspace.services;
+
+import com.gardenspace.events.GardenAvailabilityChangedEvent;
+import com.gardenspace.events.GardenChangedEvent;
+import com.gardenspace.events.GardensImportedEvent;
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.GardenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through replacement for the garden catalog queries. The whole catalog
+ * is held as one immutable {@link Catalog} behind a volatile reference:
+ * readers just dereference it, writers (serialized on this object) build a
+ * patched copy and swap it in.
+ *
+ * <p>Gardens in the snapshot are shared between requests, so they are
+ * read-only copies ({@link FrozenGarden}) rather than entities.
+ *
+ * <p>The catalog {@link #version() version} is bumped on every garden write,
+ * after the snapshot itself has been patched, whether or not the snapshot is
+ * enabled. A reader that samples the version before loading the catalog can
+ * therefore only ever pair a newer body with an older version, never the
+ * other way round, which makes it safe to use as a list ETag.
+ */
+@Component
+@RequiredArgsConstructor
+public class GardenCatalogSnapshot {
+    
+    private final GardenRepository gardenRepository;
+    
+    @Value("${app.catalog.snapshot.enabled:true}")
+    private boolean enabled = true;
+    
+    private volatile Catalog catalog;
+    
+    // gardenId -> sequence of the last availability change applied; guarded by this
+    private final Map<UUID, Long> availabilitySequences = new HashMap<>();
+    
+    // Seeded with the start time so versions do not repeat across restarts
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    public record Stats(boolean enabled, boolean loaded, int size, long hits, long misses) {
+    }
+    
+    public static final class Catalog {
+        private final List<Garden> gardens;
+        private final List<Garden> available;
+        private final Map<UUID, Integer> positions;
+        
+        private Catalog(List<Garden> gardens) {
+            Map<UUID, Integer> index = new HashMap<>(gardens.size() * 2);
+            for (int i = 0; i < gardens.size(); i++) {
+                index.put(gardens.get(i).getId(), i);
+            }
+            this.gardens = Collections.unmodifiableList(gardens);
+            this.available = open(gardens);
+            this.positions = Collections.unmodifiableMap(index);
+        }
+        
+        // One garden replaced in place: the positions are shared, nothing is rehashed
+        private Catalog(Catalog base, int position, Garden garden) {
+            List<Garden> copy = new ArrayList<>(base.gardens);
+            copy.set(position, garden);
+            this.gardens = Collections.unmodifiableList(copy);
+            this.available = open(copy);
+            this.positions = base.positions;
+        }
+        
+        private static List<Garden> open(List<Garden> gardens) {
+            List<Garden> open = new ArrayList<>();
+            for (Garden garden : gardens) {
+                if (garden.getAvailablePlots() != null && garden.getAvailablePlots() > 0) {
+                    open.add(garden);
+                }
+            }
+            return Collections.unmodifiableList(open);
+        }
+        
+        /** All gardens in (createdAt, id) order. */
+        public List<Garden> gardens() {
+            return gardens;
+        }
+        
+        public List<Garden> available() {
+            return available;
+        }
+        
+        public Optional<Garden> findById(UUID id) {
+            Integer position = positions.get(id);
+            return position == null ? Optional.empty() : Optional.of(gardens.get(position));
+        }
+        
+        public int size() {
+            return gardens.size();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        List<Garden> gardens = gardenRepository.findAll(Sort.by("createdAt", "id"));
+        gardenRepository.fetchCollections(gardens);
+        List<Garden> frozen = new ArrayList<>(gardens.size());
+        gardens.forEach(garden -> frozen.add(freeze(garden)));
+        synchronized (this) {
+            catalog = new Catalog(frozen);
+            bumpVersion();
+        }
+    }
+    
+    /**
+     * Applies a created, updated or deleted garden. Once an availability change
+     * has been applied for the garden its plot count is left to those events:
+     * the garden in this one may have been read before a later booking's.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onGardenChanged(GardenChangedEvent event) {
+        Catalog current = catalog;
+        if (current != null) {
+            catalog = patch(current, event);
+        }
+        bumpVersion();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onGardensImported(GardensImportedEvent event) {
+        Catalog current = catalog;
+        if (current != null) {
+            List<Garden> gardens = new ArrayList<>(current.gardens.size() + event.getGardens().size());
+            gardens.addAll(current.gardens);
+            event.getGardens().forEach(garden -> gardens.add(freeze(garden)));
+            catalog = new Catalog(gardens);
+        }
+        bumpVersion();
+    }
+    
+    /**
+     * Applies the plot count carried by the event, unless a later one for the
+     * same garden has been applied already.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAvailabilityChanged(GardenAvailabilityChangedEvent event) {
+        Catalog current = catalog;
+        Integer position = current == null ? null : current.positions.get(event.getGardenId());
+        if (position != null && availabilitySequences.getOrDefault(event.getGardenId(), 0L) < event.getSequence()) {
+            availabilitySequences.put(event.getGardenId(), event.getSequence());
+            Garden updated = new FrozenGarden(current.gardens.get(position), event.getAvailablePlots(), event.getUpdatedAt());
+            catalog = new Catalog(current, position, updated);
+        }
+        bumpVersion();
+    }
+    
+    // Sequences of deleted gardens are kept, so a late availability event still compares against them
+    private Catalog patch(Catalog current, GardenChangedEvent event) {
+        List<Garden> gardens = new ArrayList<>(current.gardens);
+        Integer position = current.positions.get(event.getGardenId());
+        if (event.isDeleted()) {
+            if (position != null) {
+                gardens.remove((int) position);
+            }
+        } else if (position != null && availabilitySequences.containsKey(event.getGardenId())) {
+            Garden previous = current.gardens.get(position);
+            OffsetDateTime updatedAt = later(previous.getUpdatedAt(), event.getGarden().getUpdatedAt());
+            gardens.set(position, new FrozenGarden(event.getGarden(), previous.getAvailablePlots(), updatedAt));
+        } else if (position != null) {
+            gardens.set(position, freeze(event.getGarden()));
+        } else {
+            gardens.add(freeze(event.getGarden()));
+        }
+        return new Catalog(gardens);
+    }
+    
+    private static OffsetDateTime later(OffsetDateTime a, OffsetDateTime b) {
+        if (a == null || b == null) {
+            return a == null ? b : a;
+        }
+        return a.isAfter(b) ? a : b;
+    }
+    
+    private void bumpVersion() {
+        version.incrementAndGet();
+    }
+    
+    /** Changes whenever any garden is created, updated or deleted. */
+    public long version() {
+        return version.get();
+    }
+    
+    
+    /**
+     * The current catalog, or empty when the snapshot is disabled or not yet
+     * loaded and the caller has to go to the database. Counts as a hit or a
+     * miss respectively.
+     */
+    public Optional<Catalog> current() {
+        Catalog snapshot = enabled ? catalog : null;
+        if (snapshot == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(snapshot);
+    }
+    
+    public Stats stats() {
+        Catalog snapshot = catalog;
+        return new Stats(enabled, snapshot != null, snapshot == null ? 0 : snapshot.size(),
+                hits.sum(), misses.sum());
+    }
+    
+    private static Garden freeze(Garden garden) {
+        return garden instanceof FrozenGarden ? garden
+                : new FrozenGarden(garden, garden.getAvailablePlots(), garden.getUpdatedAt());
+    }
+    
+    /**
+     * A detached copy for the snapshot: every setter throws, so a garden shared
+     * between requests cannot be changed in place, and it is not an entity
+     * Hibernate knows, so it cannot be saved by mistake either. Writes go
+     * through the repository and reach the snapshot as events.
+     */
+    static final class FrozenGarden extends Garden {
+        
+        private FrozenGarden(Garden garden, Integer availablePlots, OffsetDateTime updatedAt) {
+            super.setId(garden.getId());
+            super.setName(garden.getName());
+            super.setDescription(garden.getDescription());
+            super.setAddress(garden.getAddress());
+            super.setLatitude(garden.getLatitude());
+            super.setLongitude(garden.getLongitude());
+            super.setTotalPlots(garden.getTotalPlots());
+            super.setAvailablePlots(availablePlots);
+            super.setBasePricePerMonth(garden.getBasePricePerMonth());
+            super.setSizeSqm(garden.getSizeSqm());
+            super.setOwnerId(garden.getOwnerId());
+            super.setAmenities(garden.getAmenities() == null ? null
+                    : Collections.unmodifiableList(new ArrayList<>(garden.getAmenities())));
+            super.setImages(garden.getImages() == null ? null
+                    : Collections.unmodifiableList(new ArrayList<>(garden.getImages())));
+            super.setCreatedAt(garden.getCreatedAt());
+            super.setUpdatedAt(updatedAt);
+        }
+        
+        @Override
+        public void setId(UUID id) {
+            throw frozen();
+        }
+        
+        @Override
+        public void setName(String name) {
+            throw frozen();
+        }
+        
+        @Override
+        public void setDescription(String description) {
+            throw frozen();
+        }
+        
+        @Override
+        public void setAddress(String address) {
+            throw frozen();
+        }
+        
+        @Override
+        public void setLatitude(BigDecimal latitude) {
+            throw frozen();
+        }
+        
+        @Override
+        public void setLongitude(BigDecimal longitude) {
+            throw frozen();
+        }
+        
+        @Override
+        public void setTotalPlots(Integer totalPlots) {
+            throw frozen();
+        }
+        
+        @Override
+        public void setAvailablePlots(Integer availablePlots) {
+            throw frozen();
+        }
+        
+        @Override
+        public void setBasePricePerMonth(BigDecimal basePricePerMonth) {
+            throw frozen();
+        }
+        
+        @Override
+        public void setSizeSqm(BigDecimal sizeSqm) {
+            throw frozen();
+        }
+        
+        @Override
+        public void setOwnerId(UUID ownerId) {
+            throw frozen();
+        }
+        
+        @Override
+        public void setAmenities(List<String> amenities) {
+            throw frozen();
+        }
+        
+        @Override
+        public void setImages(List<String> images) {
+            throw frozen();
+        }
+        
+        @Override
+        public void setCreatedAt(OffsetDateTime createdAt) {
+            throw frozen();
+        }
+        
+        @Override
+        public void setUpdatedAt(OffsetDateTime updatedAt) {
+            throw frozen();
+        }
+        
+        @Override
+        public void preUpdate() {
+            throw frozen();
+        }
+        
+        private static UnsupportedOperationException frozen() {
+            return new UnsupportedOperationException("Catalog snapshot gardens are read-only");
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.GardenFilter;
+import com.gardenspace.events.GardenAvailabilityChangedEvent;
+import com.gardenspace.events.GardenChangedEvent;
+import com.gardenspace.events.GardensImportedEvent;
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.GardenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented in-memory view of the garden catalog for faceted filtering.
+ * Every garden gets a dense slot; amenities and availability are kept as
+ * per-value bitmaps over the slots, price and size as primitive columns. A
+ * filter is a handful of bitmap ANDs plus one pass over the surviving slots,
+ * and facet counts fall out of the same bitmaps.
+ *
+ * <p>Slots are never reused (deletes only clear the live bit), so slot order
+ * follows insertion order and doubles as a stable paging key.
+ */
+@Component
+@RequiredArgsConstructor
+public class GardenFacetIndex {
+    
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    private final GardenRepository gardenRepository;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final Map<String, BitSet> amenityBits = new HashMap<>();
+    private final Map<String, String> amenityLabels = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet available = new BitSet();
+    private UUID[] ids = new UUID[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private double[] sizes = new double[INITIAL_CAPACITY]; // NaN when unknown
+    private long[] availabilitySequences = new long[INITIAL_CAPACITY]; // last GardenAvailabilityChangedEvent applied
+    private int slotCount;
+    
+    public record Result(List<UUID> gardenIds, int nextSlot, int total,
+                         Map<String, Integer> amenityCounts, int availableCount) {
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Garden> gardens = gardenRepository.findAll(Sort.by("createdAt", "id"));
+        gardenRepository.fetchCollections(gardens);
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            amenityBits.clear();
+            amenityLabels.clear();
+            live.clear();
+            available.clear();
+            Arrays.fill(availabilitySequences, 0);
+            slotCount = 0;
+            gardens.forEach(this::write);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGardenChanged(GardenChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getGardenId());
+        } else {
+            put(event.getGarden());
+        }
+    }
+    
+    /** Indexes a whole import batch under one write lock. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGardensImported(GardensImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getGardens().forEach(this::write);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /** Applies the event's plot count unless a later one for the garden was applied already. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(GardenAvailabilityChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.get(event.getGardenId());
+            if (slot != null && availabilitySequences[slot] < event.getSequence()) {
+                availabilitySequences[slot] = event.getSequence();
+                available.set(slot, event.getAvailablePlots() > 0);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void put(Garden garden) {
+        lock.writeLock().lock();
+        try {
+            write(garden);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(UUID gardenId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.remove(gardenId);
+            if (slot != null) {
+                clear(slot);
+                ids[slot] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Evaluates the filter and returns up to {@code limit} matching gardens
+     * starting at slot {@code fromSlot}, together with the total match count
+     * and facet counts over all matches.
+     */
+    public Result filter(GardenFilter filter, int fromSlot, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) live.clone();
+            if (filter.isAvailable()) {
+                matches.and(available);
+            }
+            if (filter.getAmenities() != null) {
+                for (String amenity : filter.getAmenities()) {
+                    BitSet bits = amenityBits.get(amenityKey(amenity));
+                    if (bits == null) {
+                        matches.clear();
+                        break;
+                    }
+                    matches.and(bits);
+                }
+            }
+            applyRange(matches, prices, filter.getMinPrice(), filter.getMaxPrice());
+            applyRange(matches, sizes, filter.getMinSize(), filter.getMaxSize());
+            
+            List<UUID> page = new ArrayList<>(limit);
+            int slot = matches.nextSetBit(fromSlot);
+            while (slot >= 0 && page.size() < limit) {
+                page.add(ids[slot]);
+                slot = matches.nextSetBit(slot + 1);
+            }
+            
+            Map<String, Integer> amenityCounts = new LinkedHashMap<>();
+            amenityBits.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> {
+                        BitSet overlap = (BitSet) entry.getValue().clone();
+                        overlap.and(matches);
+                        int count = overlap.cardinality();
+                        if (count > 0) {
+                            amenityCounts.put(amenityLabels.get(entry.getKey()), count);
+                        }
+                    });
+            BitSet availableMatches = (BitSet) matches.clone();
+            availableMatches.and(available);
+            
+            return new Result(page, slot, matches.cardinality(), amenityCounts, availableMatches.cardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private static void applyRange(BitSet matches, double[] column, BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) {
+            return;
+        }
+        double low = min == null ? Double.NEGATIVE_INFINITY : min.doubleValue();
+        double high = max == null ? Double.POSITIVE_INFINITY : max.doubleValue();
+        for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            double value = column[slot];
+            // NaN (unknown) fails both comparisons and is filtered out
+            if (!(value >= low && value <= high)) {
+                matches.clear(slot);
+            }
+        }
+    }
+    
+    private void write(Garden garden) {
+        int slot = slotFor(garden.getId());
+        live.set(slot);
+        if (garden.getAvailablePlots() != null && garden.getAvailablePlots() > 0) {
+            available.set(slot);
+        }
+        prices[slot] = garden.getBasePricePerMonth() == null ? Double.NaN : garden.getBasePricePerMonth().doubleValue();
+        sizes[slot] = garden.getSizeSqm() == null ? Double.NaN : garden.getSizeSqm().doubleValue();
+        if (garden.getAmenities() != null) {
+            for (String amenity : garden.getAmenities()) {
+                String key = amenityKey(amenity);
+                if (!key.isEmpty()) {
+                    amenityBits.computeIfAbsent(key, k -> new BitSet()).set(slot);
+                    amenityLabels.putIfAbsent(key, amenity.trim());
+                }
+            }
+        }
+    }
+    
+    private int slotFor(UUID gardenId) {
+        Integer existing = slots.get(gardenId);
+        if (existing != null) {
+            clear(existing);
+            return existing;
+        }
+        int slot = slotCount++;
+        ensureCapacity(slotCount);
+        slots.put(gardenId, slot);
+        ids[slot] = gardenId;
+        return slot;
+    }
+    
+    private void clear(int slot) {
+        live.clear(slot);
+        available.clear(slot);
+        amenityBits.entrySet().removeIf(entry -> {
+            entry.getValue().clear(slot);
+            if (entry.getValue().isEmpty()) {
+                amenityLabels.remove(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int grown = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, grown);
+            prices = Arrays.copyOf(prices, grown);
+            sizes = Arrays.copyOf(sizes, grown);
+            availabilitySequences = Arrays.copyOf(availabilitySequences, grown);
+        }
+    }
+    
+    /** Case- and accent-insensitive amenity identity ("Kút" == "kut"). */
+    private static String amenityKey(String amenity) {
+        return String.join(" ", GardenSearchIndex.tokenize(amenity));
+    }
+}
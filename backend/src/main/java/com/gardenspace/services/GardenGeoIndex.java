@@ -0,0 +1,200 @@
+package com.gardenspace.services;
+
+import com.gardenspace.events.GardenChangedEvent;
+import com.gardenspace.events.GardensImportedEvent;
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.GardenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory uniform grid over garden coordinates answering k-nearest queries.
+ * A query visits grid rings outwards from the query cell and stops as soon as
+ * no unvisited cell can hold a closer garden, so its cost depends on the
+ * local density rather than on the catalog size.
+ */
+@Component
+@RequiredArgsConstructor
+public class GardenGeoIndex {
+    
+    static final double CELL_DEGREES = 0.05; // ~5.5 km north-south
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    
+    private final GardenRepository gardenRepository;
+    
+    private final Map<UUID, Point> points = new ConcurrentHashMap<>();
+    private final Map<Long, Set<UUID>> cells = new ConcurrentHashMap<>();
+    
+    public record Hit(UUID gardenId, double distanceKm) {
+    }
+    
+    private record Point(double lat, double lon, long cell) {
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        points.clear();
+        cells.clear();
+        for (GardenRepository.Location location : gardenRepository.findByLatitudeNotNullAndLongitudeNotNull()) {
+            put(location.getId(), location.getLatitude().doubleValue(), location.getLongitude().doubleValue());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGardenChanged(GardenChangedEvent event) {
+        Garden garden = event.getGarden();
+        if (event.isDeleted() || garden.getLatitude() == null || garden.getLongitude() == null) {
+            remove(event.getGardenId());
+        } else {
+            put(garden.getId(), garden.getLatitude().doubleValue(), garden.getLongitude().doubleValue());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onGardensImported(GardensImportedEvent event) {
+        for (Garden garden : event.getGardens()) {
+            if (garden.getLatitude() != null && garden.getLongitude() != null) {
+                put(garden.getId(), garden.getLatitude().doubleValue(), garden.getLongitude().doubleValue());
+            }
+        }
+    }
+    
+    public synchronized void put(UUID gardenId, double lat, double lon) {
+        remove(gardenId);
+        Point point = new Point(lat, lon, cellKey(latCell(lat), lonCell(lon)));
+        points.put(gardenId, point);
+        cells.computeIfAbsent(point.cell(), key -> ConcurrentHashMap.newKeySet()).add(gardenId);
+    }
+    
+    public synchronized void remove(UUID gardenId) {
+        Point previous = points.remove(gardenId);
+        if (previous != null) {
+            cells.computeIfPresent(previous.cell(), (key, ids) -> {
+                ids.remove(gardenId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+    
+    public int size() {
+        return points.size();
+    }
+    
+    /**
+     * Returns up to {@code limit} gardens within {@code radiusKm} of the given
+     * point, nearest first.
+     */
+    public List<Hit> nearest(double lat, double lon, double radiusKm, int limit) {
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(Hit::distanceKm).reversed());
+        
+        int centerLat = latCell(lat);
+        int centerLon = lonCell(lon);
+        int maxRing = ringsFor(lat, radiusKm);
+        
+        // Beyond a certain radius walking rings touches more empty cells than
+        // there are occupied ones; scanning the occupied cells is then cheaper.
+        long ringCells = (2L * maxRing + 1) * (2L * maxRing + 1);
+        if (ringCells > cells.size()) {
+            for (Set<UUID> ids : cells.values()) {
+                collect(ids, lat, lon, radiusKm, limit, best);
+            }
+            return sorted(best);
+        }
+        
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (best.size() == limit && minRingDistanceKm(lat, ring) > best.peek().distanceKm()) {
+                break;
+            }
+            for (int dLat = -ring; dLat <= ring; dLat++) {
+                boolean edgeRow = Math.abs(dLat) == ring;
+                for (int dLon = -ring; dLon <= ring; dLon += edgeRow ? 1 : 2 * ring) {
+                    Set<UUID> ids = cells.get(cellKey(centerLat + dLat, centerLon + dLon));
+                    if (ids != null) {
+                        collect(ids, lat, lon, radiusKm, limit, best);
+                    }
+                }
+            }
+        }
+        return sorted(best);
+    }
+    
+    private void collect(Set<UUID> ids, double lat, double lon, double radiusKm,
+                         int limit, PriorityQueue<Hit> best) {
+        for (UUID id : ids) {
+            Point point = points.get(id);
+            if (point == null) {
+                continue;
+            }
+            double distance = haversineKm(lat, lon, point.lat(), point.lon());
+            if (distance > radiusKm) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Hit(id, distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new Hit(id, distance));
+            }
+        }
+    }
+    
+    private static List<Hit> sorted(PriorityQueue<Hit> best) {
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+    
+    /** Number of rings needed to cover the radius around the given latitude. */
+    private static int ringsFor(double lat, double radiusKm) {
+        return (int) Math.ceil(radiusKm / cellMinKm(lat, radiusKm)) + 1;
+    }
+    
+    /** Lower bound for the distance to any point in the given ring. */
+    private static double minRingDistanceKm(double lat, int ring) {
+        if (ring <= 1) {
+            return 0;
+        }
+        return (ring - 1) * cellMinKm(lat, ring * CELL_DEGREES * KM_PER_DEGREE);
+    }
+    
+    /** Narrowest cell side within {@code extentKm} of the latitude (cells shrink towards the poles). */
+    private static double cellMinKm(double lat, double extentKm) {
+        double poleward = Math.min(89.0, Math.abs(lat) + extentKm / KM_PER_DEGREE + CELL_DEGREES);
+        return CELL_DEGREES * KM_PER_DEGREE * Math.cos(Math.toRadians(poleward));
+    }
+    
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+    
+    private static int latCell(double lat) {
+        return (int) Math.floor(lat / CELL_DEGREES);
+    }
+    
+    private static int lonCell(double lon) {
+        return (int) Math.floor(lon / CELL_DEGREES);
+    }
+    
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+}
@@ -0,0 +1,373 @@
+package com.gardenspace.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gardenspace.dto.GardenImportResult;
+import com.gardenspace.events.GardensImportedEvent;
+import com.gardenspace.models.Garden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bulk garden import. Rows are parsed and validated one at a time from the
+ * request stream; valid rows are inserted with JDBC batches (gardens plus
+ * their amenity and image rows), one transaction per batch. Invalid rows are
+ * skipped and reported with their row number.
+ */
+@Service
+@RequiredArgsConstructor
+public class GardenImportService {
+    
+    private static final String INSERT_GARDEN =
+            "INSERT INTO gardens (id, name, description, address, latitude, longitude, total_plots, " +
+            "available_plots, base_price_per_month, size_sqm, owner_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_AMENITY = "INSERT INTO garden_amenities (garden_id, amenity) VALUES (?, ?)";
+    private static final String INSERT_IMAGE = "INSERT INTO garden_images (garden_id, image_url) VALUES (?, ?)";
+    
+    private static final List<String> CSV_COLUMNS = List.of(
+            "name", "description", "address", "latitude", "longitude", "totalPlots", "availablePlots",
+            "basePricePerMonth", "sizeSqm", "ownerId", "amenities", "images");
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${app.gardens.import.batch-size:500}")
+    private int batchSize = 500;
+    
+    @Value("${app.gardens.import.max-reported-errors:1000}")
+    private int maxReportedErrors = 1000;
+    
+    public enum Format {
+        JSON, CSV
+    }
+    
+    public GardenImportResult importGardens(InputStream in, Format format) {
+        Batch batch = new Batch();
+        try {
+            if (format == Format.CSV) {
+                readCsv(in, batch);
+            } else {
+                readJson(in, batch);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        batch.flush();
+        return new GardenImportResult(batch.imported, batch.failed, batch.errors);
+    }
+    
+    private void readJson(InputStream in, Batch batch) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of gardens");
+            }
+            int row = 0;
+            while (true) {
+                JsonNode node;
+                try {
+                    JsonToken token = parser.nextToken();
+                    if (token == JsonToken.END_ARRAY) {
+                        return;
+                    }
+                    if (token == null) {
+                        throw new IllegalArgumentException("Unexpected end of JSON array");
+                    }
+                    row++;
+                    node = parser.readValueAsTree();
+                } catch (JsonProcessingException e) {
+                    // The stream cannot be resynchronized after a syntax error
+                    batch.reject(row + 1, "Malformed JSON: " + e.getOriginalMessage());
+                    return;
+                }
+                try {
+                    batch.accept(row, objectMapper.treeToValue(node, Garden.class));
+                } catch (JsonProcessingException e) {
+                    batch.reject(row, "Invalid value: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+    
+    private void readCsv(InputStream in, Batch batch) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).strip();
+            if (!CSV_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + column);
+            }
+            index.put(column, i);
+        }
+        
+        int row = 0;
+        List<String> cells;
+        while ((cells = readCsvRecord(reader)) != null) {
+            row++;
+            if (cells.size() == 1 && cells.get(0).isEmpty()) {
+                continue;
+            }
+            try {
+                batch.accept(row, fromCsv(cells, index));
+            } catch (IllegalArgumentException e) {
+                batch.reject(row, "Invalid value: " + e.getMessage());
+            }
+        }
+    }
+    
+    private static Garden fromCsv(List<String> cells, Map<String, Integer> index) {
+        Garden garden = new Garden();
+        garden.setName(cell(cells, index, "name"));
+        garden.setDescription(cell(cells, index, "description"));
+        garden.setAddress(cell(cells, index, "address"));
+        garden.setLatitude(decimal(cell(cells, index, "latitude"), "latitude"));
+        garden.setLongitude(decimal(cell(cells, index, "longitude"), "longitude"));
+        garden.setBasePricePerMonth(decimal(cell(cells, index, "basePricePerMonth"), "basePricePerMonth"));
+        garden.setSizeSqm(decimal(cell(cells, index, "sizeSqm"), "sizeSqm"));
+        String totalPlots = cell(cells, index, "totalPlots");
+        String availablePlots = cell(cells, index, "availablePlots");
+        String ownerId = cell(cells, index, "ownerId");
+        try {
+            // Blank counts keep the entity defaults, as with a missing JSON property
+            if (totalPlots != null) {
+                garden.setTotalPlots(Integer.valueOf(totalPlots));
+            }
+            if (availablePlots != null) {
+                garden.setAvailablePlots(Integer.valueOf(availablePlots));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("plot counts must be whole numbers");
+        }
+        garden.setOwnerId(ownerId == null ? null : UUID.fromString(ownerId));
+        garden.setAmenities(list(cell(cells, index, "amenities")));
+        garden.setImages(list(cell(cells, index, "images")));
+        return garden;
+    }
+    
+    private static String cell(List<String> cells, Map<String, Integer> index, String column) {
+        Integer position = index.get(column);
+        if (position == null || position >= cells.size()) {
+            return null;
+        }
+        String value = cells.get(position).strip();
+        return value.isEmpty() ? null : value;
+    }
+    
+    private static BigDecimal decimal(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a number");
+        }
+    }
+    
+    // Same convention as the CSV export: list values joined with ';'
+    private static List<String> list(String value) {
+        if (value == null) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(";")).map(String::strip).filter(item -> !item.isEmpty()).toList();
+    }
+    
+    /**
+     * Reads one RFC 4180 record (quoted cells may contain separators, quotes
+     * and line breaks), or returns null at end of input.
+     */
+    private static List<String> readCsvRecord(Reader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        cell.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    cell.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                cell.append((char) c);
+            }
+            c = reader.read();
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+    
+    private static String validate(Garden garden) {
+        if (isBlank(garden.getName()) || isBlank(garden.getDescription()) || isBlank(garden.getAddress())) {
+            return "name, description and address are required";
+        }
+        if (garden.getOwnerId() == null) {
+            return "ownerId is required";
+        }
+        if (garden.getBasePricePerMonth() == null || garden.getBasePricePerMonth().signum() < 0) {
+            return "basePricePerMonth is required and must not be negative";
+        }
+        if (garden.getTotalPlots() == null || garden.getTotalPlots() < 1) {
+            return "totalPlots must be at least 1";
+        }
+        if (garden.getAvailablePlots() == null
+                || garden.getAvailablePlots() < 0 || garden.getAvailablePlots() > garden.getTotalPlots()) {
+            return "availablePlots must be between 0 and totalPlots";
+        }
+        if ((garden.getLatitude() == null) != (garden.getLongitude() == null)) {
+            return "latitude and longitude must be given together";
+        }
+        if (garden.getLatitude() != null
+                && (garden.getLatitude().abs().compareTo(BigDecimal.valueOf(90)) > 0
+                    || garden.getLongitude().abs().compareTo(BigDecimal.valueOf(180)) > 0)) {
+            return "latitude must be within [-90, 90] and longitude within [-180, 180]";
+        }
+        return null;
+    }
+    
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+    
+    /** Accumulates valid rows and writes them out every {@code batchSize} rows. */
+    private final class Batch {
+        private final List<Garden> gardens = new ArrayList<>(batchSize);
+        private final List<Integer> rows = new ArrayList<>(batchSize);
+        private final List<GardenImportResult.RowError> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+        
+        void accept(int row, Garden garden) {
+            String error = validate(garden);
+            if (error != null) {
+                reject(row, error);
+                return;
+            }
+            OffsetDateTime now = OffsetDateTime.now();
+            garden.setId(UUID.randomUUID());
+            garden.setCreatedAt(now);
+            garden.setUpdatedAt(now);
+            if (garden.getAmenities() == null) {
+                garden.setAmenities(List.of());
+            }
+            if (garden.getImages() == null) {
+                garden.setImages(List.of());
+            }
+            gardens.add(garden);
+            rows.add(row);
+            if (gardens.size() == batchSize) {
+                flush();
+            }
+        }
+        
+        void reject(int row, String error) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new GardenImportResult.RowError(row, error));
+            }
+        }
+        
+        void flush() {
+            if (gardens.isEmpty()) {
+                return;
+            }
+            List<Garden> written = List.copyOf(gardens);
+            try {
+                TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                transaction.executeWithoutResult(status -> {
+                    insert(written);
+                    // Delivered to the in-memory views after this batch commits
+                    eventPublisher.publishEvent(new GardensImportedEvent(written));
+                });
+                imported += written.size();
+            } catch (DataAccessException e) {
+                String error = "Batch insert failed: " + e.getMostSpecificCause().getMessage();
+                rows.forEach(row -> reject(row, error));
+            }
+            gardens.clear();
+            rows.clear();
+        }
+    }
+    
+    private void insert(List<Garden> gardens) {
+        jdbcTemplate.batchUpdate(INSERT_GARDEN, gardens, gardens.size(), (ps, garden) -> {
+            ps.setObject(1, garden.getId());
+            ps.setString(2, garden.getName());
+            ps.setString(3, garden.getDescription());
+            ps.setString(4, garden.getAddress());
+            ps.setObject(5, garden.getLatitude(), Types.NUMERIC);
+            ps.setObject(6, garden.getLongitude(), Types.NUMERIC);
+            ps.setInt(7, garden.getTotalPlots());
+            ps.setInt(8, garden.getAvailablePlots());
+            ps.setBigDecimal(9, garden.getBasePricePerMonth());
+            ps.setObject(10, garden.getSizeSqm(), Types.NUMERIC);
+            ps.setObject(11, garden.getOwnerId());
+            ps.setObject(12, garden.getCreatedAt());
+            ps.setObject(13, garden.getUpdatedAt());
+        });
+        insertElements(INSERT_AMENITY, gardens, Garden::getAmenities);
+        insertElements(INSERT_IMAGE, gardens, Garden::getImages);
+    }
+    
+    private void insertElements(String sql, List<Garden> gardens, Function<Garden, List<String>> collection) {
+        List<Object[]> elements = new ArrayList<>();
+        for (Garden garden : gardens) {
+            for (String element : collection.apply(garden)) {
+                elements.add(new Object[]{garden.getId(), element});
+            }
+        }
+        if (!elements.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, elements);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.gardenspace.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized response bodies of the catalog list endpoints, keyed by catalog
+ * {@linkplain GardenCatalogSnapshot#version() version} and request parameters.
+ * A hit is written out as-is, skipping both the catalog lookup and Jackson.
+ *
+ * <p>Entries belong to one catalog version at a time: the first store for a
+ * newer version drops every older entry, which is how garden writes
+ * invalidate the cache. Stores for an older version (a request that raced a
+ * write) are not kept.
+ */
+@Component
+@RequiredArgsConstructor
+public class GardenResponseCache {
+    
+    private final ObjectMapper objectMapper;
+    
+    @Value("${app.http.response-cache.enabled:true}")
+    private boolean enabled = true;
+    
+    @Value("${app.http.response-cache.max-entries:256}")
+    private int maxEntries = 256;
+    
+    private volatile Generation generation = new Generation(Long.MIN_VALUE);
+    
+    /** UTF-8 JSON bytes of one response; the gzip form is built on first use. */
+    public static final class Body {
+        private final byte[] json;
+        private volatile byte[] gzipped;
+        
+        private Body(byte[] json) {
+            this.json = json;
+        }
+        
+        public byte[] json() {
+            return json;
+        }
+        
+        public byte[] gzipped() {
+            byte[] encoded = gzipped;
+            if (encoded == null) {
+                encoded = gzip(json);
+                gzipped = encoded;
+            }
+            return encoded;
+        }
+    }
+    
+    private static final class Generation {
+        private final long version;
+        private final ConcurrentHashMap<String, Body> bodies = new ConcurrentHashMap<>();
+        
+        private Generation(long version) {
+            this.version = version;
+        }
+    }
+    
+    public Optional<Body> get(long version, String key) {
+        Generation current = generation;
+        if (!enabled || current.version != version) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current.bodies.get(key));
+    }
+    
+    /**
+     * Serializes {@code value} and keeps it for {@code version} if the cache
+     * is enabled and not full. The body is returned either way.
+     */
+    public Body put(long version, String key, Object value) {
+        Body body;
+        try {
+            body = new Body(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response body", e);
+        }
+        if (!enabled) {
+            return body;
+        }
+        Generation target = generationFor(version);
+        if (target != null && target.bodies.size() < maxEntries) {
+            Body existing = target.bodies.putIfAbsent(key, body);
+            return existing != null ? existing : body;
+        }
+        return body;
+    }
+    
+    public int size() {
+        return generation.bodies.size();
+    }
+    
+    private synchronized Generation generationFor(long version) {
+        if (generation.version < version) {
+            generation = new Generation(version);
+        }
+        return generation.version == version ? generation : null;
+    }
+    
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,250 @@
+package com.gardenspace.services;
+
+import com.gardenspace.events.GardenChangedEvent;
+import com.gardenspace.events.GardensImportedEvent;
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.GardenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over garden name, amenities, address and
+ * description. Terms are accent-folded ("kút" and "kut" are the same term),
+ * every query term must match (the last one also as a prefix, for
+ * search-as-you-type), and results are ranked with BM25 over field-weighted
+ * term frequencies.
+ */
+@Component
+@RequiredArgsConstructor
+public class GardenSearchIndex {
+    
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float AMENITY_WEIGHT = 2.0f;
+    private static final float ADDRESS_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    
+    /** Prefix-only matches score below exact ones. */
+    private static final double PREFIX_DISCOUNT = 0.8;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 100;
+    
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    private final GardenRepository gardenRepository;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<UUID, Float>> postings = new TreeMap<>();
+    private final Map<UUID, Document> documents = new HashMap<>();
+    private double totalLength;
+    
+    private record Document(Map<String, Float> terms, float length) {
+    }
+    
+    public record Hit(UUID gardenId, double score) {
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Garden> gardens = gardenRepository.findAll();
+        gardenRepository.fetchCollections(gardens);
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            gardens.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGardenChanged(GardenChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getGardenId());
+        } else {
+            put(event.getGarden());
+        }
+    }
+    
+    /** Indexes a whole import batch under one write lock. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGardensImported(GardensImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getGardens().forEach(garden -> {
+                unindex(garden.getId());
+                index(garden);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void put(Garden garden) {
+        lock.writeLock().lock();
+        try {
+            unindex(garden.getId());
+            index(garden);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(UUID gardenId) {
+        lock.writeLock().lock();
+        try {
+            unindex(gardenId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Returns up to {@code maxResults} gardens matching every term of the
+     * query, best first.
+     */
+    public List<Hit> search(String query, int maxResults) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = totalLength / documents.size();
+            Map<UUID, Double> scores = null;
+            for (int i = 0; i < terms.size(); i++) {
+                boolean prefix = i == terms.size() - 1 && terms.get(i).length() >= MIN_PREFIX_LENGTH;
+                Map<UUID, Double> termScores = scoreTerm(terms.get(i), prefix, averageLength);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            
+            List<Hit> hits = new ArrayList<>(scores.size());
+            scores.forEach((id, score) -> hits.add(new Hit(id, score)));
+            hits.sort((a, b) -> a.score() != b.score()
+                    ? Double.compare(b.score(), a.score())
+                    : a.gardenId().compareTo(b.gardenId()));
+            return hits.size() > maxResults ? List.copyOf(hits.subList(0, maxResults)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /** Best BM25 score per document over the term and (optionally) its prefix expansions. */
+    private Map<UUID, Double> scoreTerm(String term, boolean prefix, double averageLength) {
+        Map<UUID, Double> scores = new HashMap<>();
+        Map<String, Map<UUID, Float>> matches = prefix
+                ? postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                : postings.containsKey(term) ? Map.of(term, postings.get(term)) : Map.of();
+        
+        int expansions = 0;
+        for (Map.Entry<String, Map<UUID, Float>> match : matches.entrySet()) {
+            if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            Map<UUID, Float> docs = match.getValue();
+            double discount = match.getKey().equals(term) ? 1.0 : PREFIX_DISCOUNT;
+            double idf = Math.log(1 + (documents.size() - docs.size() + 0.5) / (docs.size() + 0.5));
+            for (Map.Entry<UUID, Float> posting : docs.entrySet()) {
+                double tf = posting.getValue();
+                double length = documents.get(posting.getKey()).length();
+                double score = discount * idf * tf * (K1 + 1)
+                        / (tf + K1 * (1 - B + B * length / averageLength));
+                scores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+    
+    private void index(Garden garden) {
+        Map<String, Float> terms = new HashMap<>();
+        float length = 0;
+        length += addField(terms, garden.getName(), NAME_WEIGHT);
+        length += addField(terms, garden.getAddress(), ADDRESS_WEIGHT);
+        length += addField(terms, garden.getDescription(), DESCRIPTION_WEIGHT);
+        if (garden.getAmenities() != null) {
+            for (String amenity : garden.getAmenities()) {
+                length += addField(terms, amenity, AMENITY_WEIGHT);
+            }
+        }
+        
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>())
+                .put(garden.getId(), weight));
+        documents.put(garden.getId(), new Document(terms, length));
+        totalLength += length;
+    }
+    
+    private void unindex(UUID gardenId) {
+        Document previous = documents.remove(gardenId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms().keySet()) {
+            Map<UUID, Float> docs = postings.get(term);
+            docs.remove(gardenId);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= previous.length();
+    }
+    
+    private static float addField(Map<String, Float> terms, String text, float weight) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            terms.merge(token, weight, Float::sum);
+        }
+        return tokens.size() * weight;
+    }
+    
+    /** Lower-cases, strips diacritics (á, ő, ű, ...) and splits on anything but letters and digits. */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,64 +1,366 @@
 package com.gardenspace.services;
 
+import com.gardenspace.dto.CursorPage;
+import com.gardenspace.dto.FacetedPage;
+import com.gardenspace.dto.FreeGarden;
+import com.gardenspace.dto.GardenAvailability;
+import com.gardenspace.dto.GardenChanges;
+import com.gardenspace.dto.GardenFilter;
+import com.gardenspace.dto.NearbyGarden;
+import com.gardenspace.dto.OffsetCursor;
+import com.gardenspace.dto.PageCursor;
+import com.gardenspace.dto.SyncToken;
+import com.gardenspace.events.GardenChangedEvent;
 import com.gardenspace.models.Garden;
+import com.gardenspace.models.GardenTombstone;
 import com.gardenspace.repositories.GardenRepository;
+import com.gardenspace.repositories.GardenTombstoneRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class GardenService {
     
     private final GardenRepository gardenRepository;
+    private final GardenTombstoneRepository tombstoneRepository;
+    private final GardenGeoIndex gardenGeoIndex;
+    private final GardenSearchIndex gardenSearchIndex;
+    private final GardenFacetIndex gardenFacetIndex;
+    private final GardenCatalogSnapshot catalogSnapshot;
+    private final GardenCatalogLoader catalogLoader;
+    private final GardenAvailabilityCalendar availabilityCalendar;
+    private final PlotReservationEngine reservationEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.gardens.page.default-size:20}")
+    private int defaultPageSize = 20;
+    
+    @Value("${app.gardens.page.max-size:100}")
+    private int maxPageSize = 100;
+    
+    @Value("${app.gardens.search.max-results:500}")
+    private int maxSearchResults = 500;
+    
+    @Value("${app.gardens.nearby.max-radius-km:50}")
+    private double maxNearbyRadiusKm = 50;
+    
+    @Value("${app.gardens.sync.max-batch-size:500}")
+    private int maxSyncBatchSize = 500;
+    
+    @Value("${app.gardens.sync.overlap-seconds:5}")
+    private long syncOverlapSeconds = 5;
+    
+    @Value("${app.gardens.sync.tombstone-retention-days:30}")
+    private long tombstoneRetentionDays = 30;
+    
+    @Value("${app.gardens.availability.max-months:36}")
+    private int maxAvailabilityMonths = 36;
     
     public List<Garden> getAllGardens() {
-        return gardenRepository.findAll();
+        return catalogSnapshot.current()
+                .map(GardenCatalogSnapshot.Catalog::gardens)
+                .orElseGet(catalogLoader::loadAll);
     }
     
     public Optional<Garden> getGardenById(UUID id) {
-        return gardenRepository.findById(id);
+        return catalogSnapshot.current()
+                .map(catalog -> catalog.findById(id))
+                .orElseGet(() -> gardenRepository.findById(id));
     }
     
+    @Transactional(readOnly = true)
     public List<Garden> getGardensByOwner(UUID ownerId) {
-        return gardenRepository.findByOwnerId(ownerId);
+        return withCollections(gardenRepository.findByOwnerId(ownerId));
     }
     
     public List<Garden> getAvailableGardens() {
-        return gardenRepository.findByAvailablePlotsGreaterThan(0);
+        return catalogSnapshot.current()
+                .map(GardenCatalogSnapshot.Catalog::available)
+                .orElseGet(catalogLoader::loadAvailable);
     }
     
+    /** Opaque catalog version for list validators (ETags). */
+    public long getCatalogVersion() {
+        return catalogSnapshot.version();
+    }
+    
+    public GardenCatalogSnapshot.Stats getCatalogSnapshotStats() {
+        return catalogSnapshot.stats();
+    }
+    
+    /** Ranked full-text search over name, amenities, address and description. */
+    @Transactional(readOnly = true)
     public List<Garden> searchGardens(String query) {
-        return gardenRepository.findByNameContainingIgnoreCase(query);
+        return rankedGardens(gardenSearchIndex.search(query, maxSearchResults));
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<Garden> getGardensPage(String cursor, Integer limit) {
+        return loadPage(cursor, limit, (after, size) ->
+                gardenRepository.findPageAfter(after.getCreatedAt(), after.getId(), size));
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<Garden> getAvailableGardensPage(String cursor, Integer limit) {
+        return loadPage(cursor, limit, (after, size) ->
+                gardenRepository.findAvailablePageAfter(after.getCreatedAt(), after.getId(), size));
+    }
+    
+    /** Pages through the ranked search results; the cursor is a rank offset. */
+    @Transactional(readOnly = true)
+    public CursorPage<Garden> searchGardensPage(String query, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        int offset = OffsetCursor.decode(cursor);
+        List<GardenSearchIndex.Hit> hits = gardenSearchIndex.search(query, Math.min(offset + pageSize + 1, maxSearchResults));
+        if (offset >= hits.size()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        List<Garden> items = rankedGardens(hits.subList(offset, Math.min(offset + pageSize, hits.size())));
+        String next = hits.size() > offset + pageSize ? OffsetCursor.encode(offset + pageSize) : null;
+        return new CursorPage<>(items, next);
+    }
+    
+    /**
+     * Evaluates the filter against the facet index and returns one page of
+     * matches plus the facet counts of the whole match set.
+     */
+    @Transactional(readOnly = true)
+    public FacetedPage<Garden> filterGardens(GardenFilter filter, String cursor, Integer limit) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("minPrice must not exceed maxPrice");
+        }
+        if (filter.getMinSize() != null && filter.getMaxSize() != null
+                && filter.getMinSize().compareTo(filter.getMaxSize()) > 0) {
+            throw new IllegalArgumentException("minSize must not exceed maxSize");
+        }
+        
+        GardenFacetIndex.Result result = gardenFacetIndex.filter(filter, OffsetCursor.decode(cursor), pageSize(limit));
+        Map<UUID, Garden> byId = loadById(result.gardenIds());
+        List<Garden> items = result.gardenIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        String next = result.nextSlot() >= 0 ? OffsetCursor.encode(result.nextSlot()) : null;
+        return new FacetedPage<>(items, next, result.total(),
+                new FacetedPage.Facets(result.amenityCounts(), result.availableCount()));
+    }
+    
+    /**
+     * Gardens created or updated since {@code since}, plus the ids of gardens
+     * deleted since then. Without a token the whole catalog is sent (in
+     * batches); a token older than the tombstone retention forces a reset.
+     */
+    @Transactional(readOnly = true)
+    public GardenChanges<Garden> getChangesSince(String since, Integer limit) {
+        int batchSize = limit == null ? maxSyncBatchSize : limit;
+        if (batchSize < 1 || batchSize > maxSyncBatchSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxSyncBatchSize);
+        }
+        
+        OffsetDateTime now = OffsetDateTime.now();
+        SyncToken from = SyncToken.decode(since);
+        boolean initial = since == null || since.isBlank();
+        boolean reset = !initial && from.getUpdatedAt().isBefore(now.minusDays(tombstoneRetentionDays));
+        if (reset) {
+            from = SyncToken.INITIAL;
+        }
+        
+        List<UUID> deleted = initial || reset
+                ? List.of()
+                : tombstoneRepository.findGardenIdsDeletedSince(from.getUpdatedAt());
+        List<Garden> rows = gardenRepository.findChangedAfter(
+                from.getUpdatedAt(), from.getId(), Limit.of(batchSize + 1));
+        if (rows.size() > batchSize) {
+            List<Garden> changed = withCollections(rows.subList(0, batchSize));
+            Garden last = changed.get(batchSize - 1);
+            String next = new SyncToken(last.getUpdatedAt(), last.getId()).encode();
+            return new GardenChanges<>(changed, deleted, next, true, reset);
+        }
+        
+        // updatedAt is stamped before commit, so a write still in flight can
+        // commit with a timestamp behind "now". Re-reading a short overlap
+        // window on the next poll picks it up; clients upsert idempotently.
+        OffsetDateTime horizon = now.minus(Duration.ofSeconds(syncOverlapSeconds));
+        String next = SyncToken.at(horizon).encode();
+        return new GardenChanges<>(withCollections(rows), deleted, next, false, reset);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.gardens.sync.tombstone-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpiredTombstones() {
+        tombstoneRepository.deleteOlderThan(OffsetDateTime.now().minusDays(tombstoneRetentionDays));
+    }
+    
+    private CursorPage<Garden> loadPage(String cursor, Integer limit,
+                                        BiFunction<PageCursor, Limit, List<Garden>> query) {
+        int pageSize = pageSize(limit);
+        
+        // Fetch one extra row to learn whether another page exists
+        List<Garden> rows = query.apply(PageCursor.decode(cursor), Limit.of(pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(withCollections(rows), null);
+        }
+        List<Garden> items = withCollections(rows.subList(0, pageSize));
+        Garden last = items.get(pageSize - 1);
+        return new CursorPage<>(items, new PageCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+    
+    private int pageSize(Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : limit;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        }
+        return pageSize;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<NearbyGarden> findNearbyGardens(double lat, double lon, double radiusKm, int limit) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new IllegalArgumentException("lat must be within [-90, 90] and lon within [-180, 180]");
+        }
+        if (radiusKm <= 0 || radiusKm > maxNearbyRadiusKm) {
+            throw new IllegalArgumentException("radiusKm must be between 0 and " + maxNearbyRadiusKm);
+        }
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        }
+        
+        List<GardenGeoIndex.Hit> hits = gardenGeoIndex.nearest(lat, lon, radiusKm, limit);
+        Map<UUID, Garden> byId = loadById(hits.stream().map(GardenGeoIndex.Hit::gardenId).toList());
+        return hits.stream()
+                .filter(hit -> byId.containsKey(hit.gardenId()))
+                .map(hit -> new NearbyGarden(byId.get(hit.gardenId()), hit.distanceKm()))
+                .toList();
+    }
+    
+    /** Month-by-month plot occupancy of one garden for the months spanned by the dates. */
+    public Optional<GardenAvailability> getAvailability(UUID id, LocalDate from, LocalDate to) {
+        return availabilityCalendar.availability(id, YearMonth.from(from), lastMonth(from, to));
+    }
+    
+    /**
+     * Gardens with at least {@code plots} plots free in every month spanned by
+     * the dates, most free plots first; the cursor is an offset into that order.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<FreeGarden> findGardensWithFreePlots(LocalDate from, LocalDate to, int plots,
+                                                          String cursor, Integer limit) {
+        if (plots < 1) {
+            throw new IllegalArgumentException("plots must be at least 1");
+        }
+        int pageSize = pageSize(limit);
+        int offset = OffsetCursor.decode(cursor);
+        List<GardenAvailabilityCalendar.Hit> hits = availabilityCalendar.withFreePlots(YearMonth.from(from), lastMonth(from, to), plots);
+        if (offset >= hits.size()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        List<GardenAvailabilityCalendar.Hit> page = hits.subList(offset, Math.min(offset + pageSize, hits.size()));
+        Map<UUID, Garden> byId = loadById(page.stream().map(GardenAvailabilityCalendar.Hit::gardenId).toList());
+        List<FreeGarden> items = page.stream()
+                .filter(hit -> byId.containsKey(hit.gardenId()))
+                .map(hit -> new FreeGarden(byId.get(hit.gardenId()), hit.freePlots()))
+                .toList();
+        String next = hits.size() > offset + pageSize ? OffsetCursor.encode(offset + pageSize) : null;
+        return new CursorPage<>(items, next);
+    }
+    
+    private YearMonth lastMonth(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        YearMonth last = YearMonth.from(to);
+        if (YearMonth.from(from).plusMonths(maxAvailabilityMonths).isBefore(last.plusMonths(1))) {
+            throw new IllegalArgumentException("date range must not span more than " + maxAvailabilityMonths + " months");
+        }
+        return last;
+    }
+    
+    private List<Garden> rankedGardens(List<GardenSearchIndex.Hit> hits) {
+        Map<UUID, Garden> byId = loadById(hits.stream().map(GardenSearchIndex.Hit::gardenId).toList());
+        return hits.stream()
+                .map(hit -> byId.get(hit.gardenId()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+    
+    private Map<UUID, Garden> loadById(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return withCollections(gardenRepository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(Garden::getId, Function.identity()));
+    }
+    
+    private List<Garden> withCollections(List<Garden> gardens) {
+        gardenRepository.fetchCollections(gardens);
+        return gardens;
     }
     
     public Garden createGarden(Garden garden) {
-        return gardenRepository.save(garden);
+        Garden saved = gardenRepository.save(garden);
+        eventPublisher.publishEvent(GardenChangedEvent.saved(saved));
+        return saved;
     }
     
+    /**
+     * Updates the garden's details. Free plots are never taken from the
+     * request: bookings change them concurrently, so a new plot count is
+     * applied by shifting them in one statement.
+     *
+     * @throws PlotsInUseException if the new plot count is below the plots held by bookings
+     */
+    @Transactional
     public Optional<Garden> updateGarden(UUID id, Garden gardenDetails) {
+        Integer totalPlots = gardenDetails.getTotalPlots();
+        if (totalPlots != null && !reservationEngine.resize(id, totalPlots)) {
+            if (!gardenRepository.existsById(id)) {
+                return Optional.empty();
+            }
+            throw new PlotsInUseException(id, totalPlots);
+        }
+        // Loaded after the resize, so the entity carries the shifted counts
         return gardenRepository.findById(id).map(garden -> {
             garden.setName(gardenDetails.getName());
             garden.setDescription(gardenDetails.getDescription());
             garden.setAddress(gardenDetails.getAddress());
             garden.setLatitude(gardenDetails.getLatitude());
             garden.setLongitude(gardenDetails.getLongitude());
-            garden.setTotalPlots(gardenDetails.getTotalPlots());
-            garden.setAvailablePlots(gardenDetails.getAvailablePlots());
             garden.setBasePricePerMonth(gardenDetails.getBasePricePerMonth());
             garden.setSizeSqm(gardenDetails.getSizeSqm());
             garden.setAmenities(gardenDetails.getAmenities());
             garden.setImages(gardenDetails.getImages());
-            return gardenRepository.save(garden);
+            Garden saved = gardenRepository.save(garden);
+            eventPublisher.publishEvent(GardenChangedEvent.saved(saved));
+            return saved;
         });
     }
     
+    @Transactional
     public boolean deleteGarden(UUID id) {
         if (gardenRepository.existsById(id)) {
             gardenRepository.deleteById(id);
+            tombstoneRepository.save(new GardenTombstone(id, OffsetDateTime.now()));
+            eventPublisher.publishEvent(GardenChangedEvent.deleted(id));
             return true;
         }
         return false;
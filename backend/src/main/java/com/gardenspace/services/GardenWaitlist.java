@@ -0,0 +1,229 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.WaitlistJoinRequest;
+import com.gardenspace.models.WaitlistEntry;
+import com.gardenspace.repositories.GardenRepository;
+import com.gardenspace.repositories.WaitlistRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Per-garden waitlists for full gardens: highest priority first, then first
+ * come, first served. Entries are stored in {@code garden_waitlist} and kept
+ * in memory as one ordered set per garden, so handing a freed plot to the next
+ * user costs O(log n) and one DELETE however long the list is.
+ *
+ * <p>Memory follows the database: joins and leaves are applied after commit,
+ * and an entry taken by {@link #pollNext} goes back in line if the
+ * transaction that took it rolls back.
+ */
+@Component
+@RequiredArgsConstructor
+public class GardenWaitlist {
+    
+    private static final Comparator<WaitlistEntry> ORDER = Comparator
+            .comparing(WaitlistEntry::getPriority, Comparator.reverseOrder())
+            .thenComparing(WaitlistEntry::getCreatedAt)
+            .thenComparing(WaitlistEntry::getId);
+    
+    private final WaitlistRepository waitlistRepository;
+    private final GardenRepository gardenRepository;
+    private final QuoteEngine quoteEngine;
+    
+    private final Map<UUID, NavigableSet<WaitlistEntry>> queues = new HashMap<>();
+    private final Map<UUID, WaitlistEntry> entries = new HashMap<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<WaitlistEntry> stored = waitlistRepository.findAll();
+        synchronized (this) {
+            queues.clear();
+            entries.clear();
+            stored.forEach(this::enqueue);
+        }
+    }
+    
+    /**
+     * Puts the user on the garden's waitlist with the default priority; only
+     * {@link #setPriority} moves an entry ahead.
+     *
+     * @throws IllegalArgumentException if the garden does not exist or has free plots, the duration is
+     *                                  out of range, or the user is already waiting for this garden
+     */
+    @Transactional
+    public WaitlistEntry join(UUID gardenId, WaitlistJoinRequest request) {
+        if (gardenId == null || request.getUserId() == null || request.getStartDate() == null) {
+            throw new IllegalArgumentException("gardenId, userId and startDate are required");
+        }
+        GardenRepository.Availability availability = gardenRepository.findAvailabilityById(gardenId)
+                .orElseThrow(() -> new IllegalArgumentException("Garden not found: " + gardenId));
+        if (availability.getAvailablePlots() != null && availability.getAvailablePlots() > 0) {
+            throw new IllegalArgumentException("Garden " + gardenId + " has free plots; book one directly");
+        }
+        quoteEngine.totalPrice(gardenId, request.getDurationMonths()); // validates the duration
+        if (waitlistRepository.existsByGardenIdAndUserId(gardenId, request.getUserId())) {
+            throw new IllegalArgumentException("User is already on the waitlist of garden " + gardenId);
+        }
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setGardenId(gardenId);
+        entry.setUserId(request.getUserId());
+        entry.setStartDate(request.getStartDate());
+        entry.setDurationMonths(request.getDurationMonths());
+        entry.setPriority(0);
+        entry.setCreatedAt(OffsetDateTime.now());
+        WaitlistEntry saved = waitlistRepository.save(entry);
+        afterCommit(() -> enqueue(saved));
+        return saved;
+    }
+    
+    /**
+     * Sets the priority of an entry in the garden's waitlist; it keeps its
+     * join time among entries of the same priority. Returns false if the
+     * entry is not (or no longer) waiting.
+     */
+    @Transactional
+    public boolean setPriority(UUID gardenId, UUID entryId, int priority) {
+        if (waitlistRepository.updatePriority(gardenId, entryId, priority) == 0) {
+            return false;
+        }
+        afterCommit(() -> reorder(entryId, priority));
+        return true;
+    }
+    
+    @Transactional
+    public boolean leave(UUID gardenId, UUID entryId) {
+        return waitlistRepository.findById(entryId)
+                .filter(entry -> entry.getGardenId().equals(gardenId))
+                .map(entry -> {
+                    waitlistRepository.delete(entry);
+                    afterCommit(() -> dequeue(entryId));
+                    return true;
+                })
+                .orElse(false);
+    }
+    
+    /**
+     * Takes the first entry of the garden's waitlist within the current
+     * transaction, or nothing if nobody is waiting.
+     */
+    @Transactional
+    public Optional<WaitlistEntry> pollNext(UUID gardenId) {
+        while (true) {
+            WaitlistEntry next;
+            synchronized (this) {
+                NavigableSet<WaitlistEntry> queue = queues.get(gardenId);
+                if (queue == null) {
+                    return Optional.empty();
+                }
+                next = queue.pollFirst();
+                entries.remove(next.getId());
+                if (queue.isEmpty()) {
+                    queues.remove(gardenId);
+                }
+            }
+            // Zero rows: the user left in a transaction whose commit we have not seen yet
+            if (waitlistRepository.deleteEntry(next.getId()) > 0) {
+                onRollback(() -> enqueue(next));
+                return Optional.of(next);
+            }
+        }
+    }
+    
+    /** The garden's waitlist in serving order. */
+    public synchronized List<WaitlistEntry> getWaitlist(UUID gardenId) {
+        NavigableSet<WaitlistEntry> queue = queues.get(gardenId);
+        return queue == null ? List.of() : new ArrayList<>(queue);
+    }
+    
+    /** 1-based position of the user in the garden's waitlist. */
+    public synchronized OptionalInt position(UUID gardenId, UUID userId) {
+        NavigableSet<WaitlistEntry> queue = queues.get(gardenId);
+        if (queue != null) {
+            int position = 0;
+            for (WaitlistEntry entry : queue) {
+                position++;
+                if (entry.getUserId().equals(userId)) {
+                    return OptionalInt.of(position);
+                }
+            }
+        }
+        return OptionalInt.empty();
+    }
+    
+    public synchronized int size(UUID gardenId) {
+        NavigableSet<WaitlistEntry> queue = queues.get(gardenId);
+        return queue == null ? 0 : queue.size();
+    }
+    
+    private synchronized void enqueue(WaitlistEntry entry) {
+        if (entries.putIfAbsent(entry.getId(), entry) == null) {
+            queues.computeIfAbsent(entry.getGardenId(), id -> new TreeSet<>(ORDER)).add(entry);
+        }
+    }
+    
+    // The set is ordered by priority, so the entry leaves it while its priority changes
+    private synchronized void reorder(UUID entryId, int priority) {
+        WaitlistEntry entry = entries.get(entryId);
+        if (entry != null) {
+            NavigableSet<WaitlistEntry> queue = queues.get(entry.getGardenId());
+            queue.remove(entry);
+            entry.setPriority(priority);
+            queue.add(entry);
+        }
+    }
+    
+    private synchronized void dequeue(UUID entryId) {
+        WaitlistEntry entry = entries.remove(entryId);
+        if (entry != null) {
+            NavigableSet<WaitlistEntry> queue = queues.get(entry.getGardenId());
+            queue.remove(entry);
+            if (queue.isEmpty()) {
+                queues.remove(entry.getGardenId());
+            }
+        }
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private static void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
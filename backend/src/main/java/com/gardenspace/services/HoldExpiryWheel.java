@@ -0,0 +1,205 @@
+package com.gardenspace.services;
+
+import com.gardenspace.events.BookingChangedEvent;
+import com.gardenspace.events.BookingsTransitionedEvent;
+import com.gardenspace.models.Booking;
+import com.gardenspace.repositories.BookingRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Expires pending bookings (abandoned checkouts) and offered bookings
+ * (unanswered waitlist offers) once their TTL has passed, counted from
+ * {@code createdAt}.
+ *
+ * <p>Holds live in a hashed timing wheel: a ring of buckets, one per tick,
+ * each a doubly linked list of holds due in that slot (plus a round count for
+ * deadlines more than one revolution away). Scheduling and cancelling are
+ * O(1), and a tick only walks one bucket, so the cost stays flat however many
+ * holds are open. The wheel is rebuilt from the database on startup and kept
+ * current by {@link BookingChangedEvent}s; due holds are cancelled in batches
+ * through {@link BookingService#expirePendingBookings}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HoldExpiryWheel {
+    
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    
+    @Value("${app.bookings.hold.ttl-minutes:30}")
+    private long ttlMinutes = 30;
+    
+    @Value("${app.bookings.waitlist.offer-ttl-minutes:1440}")
+    private long offerTtlMinutes = 1440;
+    
+    @Value("${app.bookings.hold.tick-ms:1000}")
+    private long tickMs = 1000;
+    
+    @Value("${app.bookings.hold.wheel-size:512}")
+    private int wheelSize = 512;
+    
+    @Value("${app.bookings.hold.batch-size:500}")
+    private int batchSize = 500;
+    
+    private Bucket[] wheel;
+    private final Map<UUID, Hold> holds = new HashMap<>();
+    private long startMillis;
+    private long currentTick; // last tick whose bucket was processed
+    
+    private static final class Bucket {
+        private Hold head;
+    }
+    
+    private static final class Hold {
+        private final UUID bookingId;
+        private long rounds;
+        private Bucket bucket;
+        private Hold prev;
+        private Hold next;
+    
+        private Hold(UUID bookingId) {
+            this.bookingId = bookingId;
+        }
+    }
+    
+    @PostConstruct
+    void createWheel() {
+        wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        startMillis = System.currentTimeMillis();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<BookingRepository.Hold> open = bookingRepository.findExpiringHolds();
+        synchronized (this) {
+            open.forEach(hold -> schedule(hold.getId(), deadline(hold.getStatus(), hold.getCreatedAt())));
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookingChanged(BookingChangedEvent event) {
+        Booking booking = event.getBooking();
+        if (!event.isDeleted() && expires(booking.getStatus())) {
+            schedule(booking.getId(), deadline(booking.getStatus(), booking.getCreatedAt()));
+        } else {
+            cancel(booking.getId());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookingsTransitioned(BookingsTransitionedEvent event) {
+        if (!expires(event.getStatus())) {
+            event.getBookings().forEach(booking -> cancel(booking.getId()));
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.bookings.hold.tick-ms:1000}")
+    public void expireDueHolds() {
+        List<UUID> due = advanceTo(System.currentTimeMillis());
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<UUID> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                bookingService.expirePendingBookings(batch);
+            } catch (RuntimeException e) {
+                // Try again in a minute rather than lose the holds until the next restart
+                log.warn("Expiring {} pending bookings failed, retrying later", batch.size(), e);
+                synchronized (this) {
+                    long retryAt = System.currentTimeMillis() + Duration.ofMinutes(1).toMillis();
+                    batch.forEach(id -> schedule(id, retryAt));
+                }
+            }
+        }
+    }
+    
+    public synchronized int size() {
+        return holds.size();
+    }
+    
+    /** Schedules (or reschedules) the expiry of a pending booking. */
+    synchronized void schedule(UUID bookingId, long deadlineMillis) {
+        cancel(bookingId);
+        // Round up so a hold never fires before its deadline; overdue holds fire on the next tick
+        long tick = Math.max(currentTick + 1, Math.floorDiv(deadlineMillis - startMillis + tickMs - 1, tickMs));
+        Hold hold = new Hold(bookingId);
+        hold.rounds = (tick - currentTick - 1) / wheelSize;
+        hold.bucket = wheel[(int) Math.floorMod(tick, (long) wheelSize)];
+        hold.next = hold.bucket.head;
+        if (hold.next != null) {
+            hold.next.prev = hold;
+        }
+        hold.bucket.head = hold;
+        holds.put(bookingId, hold);
+    }
+    
+    synchronized void cancel(UUID bookingId) {
+        Hold hold = holds.remove(bookingId);
+        if (hold != null) {
+            unlink(hold);
+        }
+    }
+    
+    /** Processes every tick up to {@code nowMillis} and returns the holds that fell due. */
+    synchronized List<UUID> advanceTo(long nowMillis) {
+        List<UUID> due = new ArrayList<>();
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMs);
+        while (currentTick < targetTick) {
+            currentTick++;
+            Hold hold = wheel[(int) Math.floorMod(currentTick, (long) wheelSize)].head;
+            while (hold != null) {
+                Hold next = hold.next;
+                if (hold.rounds == 0) {
+                    unlink(hold);
+                    holds.remove(hold.bookingId);
+                    due.add(hold.bookingId);
+                } else {
+                    hold.rounds--;
+                }
+                hold = next;
+            }
+        }
+        return due;
+    }
+    
+    private static boolean expires(String status) {
+        return "pending".equals(status) || "offered".equals(status);
+    }
+    
+    private long deadline(String status, OffsetDateTime createdAt) {
+        OffsetDateTime created = createdAt == null ? OffsetDateTime.now() : createdAt;
+        long ttl = "offered".equals(status) ? offerTtlMinutes : ttlMinutes;
+        return created.toInstant().toEpochMilli() + Duration.ofMinutes(ttl).toMillis();
+    }
+    
+    private static void unlink(Hold hold) {
+        if (hold.prev != null) {
+            hold.prev.next = hold.next;
+        } else {
+            hold.bucket.head = hold.next;
+        }
+        if (hold.next != null) {
+            hold.next.prev = hold.prev;
+        }
+        hold.prev = null;
+        hold.next = null;
+    }
+}
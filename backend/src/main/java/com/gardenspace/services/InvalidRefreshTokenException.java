@@ -0,0 +1,9 @@
+package com.gardenspace.services;
+
+/** Thrown for an unknown, expired or already used refresh token. */
+public class InvalidRefreshTokenException extends RuntimeException {
+    
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,210 @@
+package com.gardenspace.services;
+
+import com.gardenspace.events.GardenAvailabilityChangedEvent;
+import com.gardenspace.repositories.GardenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Takes and returns plots on {@code gardens.available_plots} for bookings,
+ * replacing the Supabase {@code update_garden_availability} trigger.
+ *
+ * <p>The counter is changed with a conditional UPDATE, so overselling is
+ * impossible whatever the concurrency. Two in-memory measures keep a booking
+ * rush on one garden from turning into a database lock convoy:
+ * <ul>
+ *   <li>Admission: gardens hash onto a fixed set of semaphore stripes, and a
+ *       reservation holds a permit until its transaction completes. Only a
+ *       few transactions per garden wait on the row lock; the rest queue
+ *       in memory.</li>
+ *   <li>Sold-out hint: once a garden reports no free plot, further
+ *       reservations fail without a query until a plot is returned here or
+ *       the hint expires (other nodes or admin edits may free plots).</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class PlotReservationEngine {
+    
+    /** Booking statuses that occupy a plot; {@code offered} holds a freed plot for a waitlisted user. */
+    public static final List<String> PLOT_HOLDING_STATUSES = List.of("confirmed", "offered");
+    
+    private final GardenRepository gardenRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.bookings.reservation.stripes:64}")
+    private int stripeCount = 64;
+    
+    @Value("${app.bookings.reservation.permits-per-stripe:4}")
+    private int permitsPerStripe = 4;
+    
+    @Value("${app.bookings.reservation.admission-timeout-ms:2000}")
+    private long admissionTimeoutMs = 2000;
+    
+    @Value("${app.bookings.reservation.sold-out-hint-ms:1000}")
+    private long soldOutHintMs = 1000;
+    
+    private Semaphore[] stripes;
+    
+    // gardenId -> System.nanoTime() until which the garden counts as sold out
+    private final Map<UUID, Long> soldOutUntil = new ConcurrentHashMap<>();
+    
+    private final AtomicLong availabilitySequence = new AtomicLong();
+    
+    @PostConstruct
+    void createStripes() {
+        stripes = new Semaphore[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Semaphore(permitsPerStripe, true);
+        }
+    }
+    
+    /**
+     * Takes one plot of the garden within the current transaction.
+     *
+     * @throws PlotsUnavailableException if the garden has no free plot
+     * @throws IllegalArgumentException  if the garden does not exist
+     * @throws ReservationBusyException  if admission timed out during a rush
+     */
+    @Transactional
+    public void reserve(UUID gardenId) {
+        Long hint = soldOutUntil.get(gardenId);
+        if (hint != null) {
+            if (System.nanoTime() - hint < 0) {
+                throw new PlotsUnavailableException(gardenId);
+            }
+            soldOutUntil.remove(gardenId, hint);
+        }
+        
+        Semaphore stripe = admit(gardenId);
+        boolean released = false;
+        try {
+            if (gardenRepository.takePlot(gardenId, OffsetDateTime.now()) == 0) {
+                if (gardenRepository.findAvailabilityById(gardenId).isEmpty()) {
+                    throw new IllegalArgumentException("Garden not found: " + gardenId);
+                }
+                soldOutUntil.put(gardenId, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(soldOutHintMs));
+                throw new PlotsUnavailableException(gardenId);
+            }
+            publishAvailability(gardenId);
+            released = releaseOnCompletion(stripe);
+        } finally {
+            if (!released) {
+                stripe.release();
+            }
+        }
+    }
+    
+    /** Returns one plot of the garden within the current transaction. */
+    @Transactional
+    public void release(UUID gardenId) {
+        if (gardenRepository.returnPlot(gardenId, OffsetDateTime.now()) > 0) {
+            soldOutUntil.remove(gardenId);
+            publishAvailability(gardenId);
+        }
+    }
+    
+    /**
+     * Takes up to {@code plots} plots of the garden in one statement, for bulk
+     * transitions; returns how many were taken. Skips admission: a bulk
+     * transaction touches many gardens and would pile up stripe permits.
+     */
+    @Transactional
+    public int reserveUpTo(UUID gardenId, int plots) {
+        OffsetDateTime now = OffsetDateTime.now();
+        int taken = plots;
+        if (gardenRepository.takePlots(gardenId, plots, now) == 0) {
+            taken = gardenRepository.findAvailabilityById(gardenId)
+                    .map(availability -> Math.min(plots, availability.getAvailablePlots()))
+                    .orElse(0);
+            if (taken > 0 && gardenRepository.takePlots(gardenId, taken, now) == 0) {
+                taken = 0;
+            }
+        }
+        if (taken < plots) {
+            soldOutUntil.put(gardenId, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(soldOutHintMs));
+        }
+        if (taken > 0) {
+            publishAvailability(gardenId);
+        }
+        return taken;
+    }
+    
+    /** Returns {@code plots} plots of the garden in one statement. */
+    @Transactional
+    public void release(UUID gardenId, int plots) {
+        if (gardenRepository.returnPlots(gardenId, plots, OffsetDateTime.now()) > 0) {
+            soldOutUntil.remove(gardenId);
+            publishAvailability(gardenId);
+        }
+    }
+    
+    /**
+     * Sets the garden's plot count and shifts its free plots by the same
+     * amount, so plots held by bookings stay held. Returns false if the
+     * garden does not exist or would have fewer plots than are held.
+     */
+    @Transactional
+    public boolean resize(UUID gardenId, int totalPlots) {
+        if (gardenRepository.resizePlots(gardenId, totalPlots, OffsetDateTime.now()) == 0) {
+            return false;
+        }
+        soldOutUntil.remove(gardenId);
+        publishAvailability(gardenId);
+        return true;
+    }
+    
+    /** Whether a booking in this status occupies a plot. */
+    public static boolean holdsPlot(String status) {
+        return PLOT_HOLDING_STATUSES.contains(status);
+    }
+    
+    // Right after a plot UPDATE: the row lock, held until commit, orders the read and the sequence like the commits
+    private void publishAvailability(UUID gardenId) {
+        gardenRepository.findAvailabilityById(gardenId).ifPresent(availability ->
+                eventPublisher.publishEvent(new GardenAvailabilityChangedEvent(gardenId, availability.getAvailablePlots(),
+                        availability.getUpdatedAt(), availabilitySequence.incrementAndGet())));
+    }
+    
+    private Semaphore admit(UUID gardenId) {
+        Semaphore stripe = stripes[Math.floorMod(gardenId.hashCode(), stripeCount)];
+        try {
+            if (!stripe.tryAcquire(admissionTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ReservationBusyException("Too many concurrent reservations, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReservationBusyException("Interrupted while waiting to reserve a plot");
+        }
+        return stripe;
+    }
+    
+    // The row lock taken by the UPDATE lasts until commit, so the permit does too
+    private static boolean releaseOnCompletion(Semaphore stripe) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                stripe.release();
+            }
+        });
+        return true;
+    }
+}
@@ -0,0 +1,11 @@
+package com.gardenspace.services;
+
+import java.util.UUID;
+
+/** Thrown when a garden would get fewer plots than its bookings hold. */
+public class PlotsInUseException extends RuntimeException {
+    
+    public PlotsInUseException(UUID gardenId, int totalPlots) {
+        super("Garden " + gardenId + " has more plots booked than " + totalPlots);
+    }
+}
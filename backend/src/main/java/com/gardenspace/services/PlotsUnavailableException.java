@@ -0,0 +1,11 @@
+package com.gardenspace.services;
+
+import java.util.UUID;
+
+/** Thrown when a booking needs a plot and the garden has none left. */
+public class PlotsUnavailableException extends RuntimeException {
+    
+    public PlotsUnavailableException(UUID gardenId) {
+        super("No plots available in garden " + gardenId);
+    }
+}
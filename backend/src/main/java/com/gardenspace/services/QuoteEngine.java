@@ -0,0 +1,131 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.Quote;
+import com.gardenspace.dto.QuoteRequest;
+import com.gardenspace.events.GardenChangedEvent;
+import com.gardenspace.events.GardensImportedEvent;
+import com.gardenspace.repositories.GardenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prices bookings from {@code Garden.basePricePerMonth}. Every garden has a
+ * table of totals per duration (1..max-months) in minor units (1/100 Ft),
+ * so a quote is an array lookup; {@link BigDecimal}s are only created for
+ * the response. Tables are built on startup and replaced by garden events.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuoteEngine {
+    
+    private static final int SCALE = 2;
+    
+    private final GardenRepository gardenRepository;
+    
+    @Value("${app.quotes.max-months:24}")
+    private int maxMonths = 24;
+    
+    @Value("${app.quotes.max-items:500}")
+    private int maxItems = 500;
+    
+    // gardenId -> total price in minor units, indexed by duration in months
+    private final Map<UUID, long[]> tables = new ConcurrentHashMap<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        tables.clear();
+        gardenRepository.findPrices().forEach(price -> tables.put(price.getId(), table(price.getBasePricePerMonth())));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGardenChanged(GardenChangedEvent event) {
+        if (event.isDeleted()) {
+            tables.remove(event.getGardenId());
+        } else {
+            tables.put(event.getGardenId(), table(event.getGarden().getBasePricePerMonth()));
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGardensImported(GardensImportedEvent event) {
+        event.getGardens().forEach(garden -> tables.put(garden.getId(), table(garden.getBasePricePerMonth())));
+    }
+    
+    /**
+     * Prices every request, in order. Items that cannot be priced get an
+     * {@code error} instead of failing the whole batch.
+     */
+    public List<Quote> quote(List<QuoteRequest> requests) {
+        if (requests.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " quotes per request");
+        }
+        List<Quote> quotes = new ArrayList<>(requests.size());
+        for (QuoteRequest request : requests) {
+            Integer months = request.getDurationMonths();
+            long[] table = request.getGardenId() == null ? null : table(request.getGardenId());
+            if (table == null) {
+                quotes.add(Quote.failed(request, "Garden not found"));
+            } else if (months == null || months < 1 || months > maxMonths) {
+                quotes.add(Quote.failed(request, "durationMonths must be between 1 and " + maxMonths));
+            } else {
+                quotes.add(new Quote(request.getGardenId(), request.getStartDate(),
+                        request.getStartDate() == null ? null : request.getStartDate().plusMonths(months),
+                        months, BigDecimal.valueOf(table[1], SCALE), BigDecimal.valueOf(table[months], SCALE), null));
+            }
+        }
+        return quotes;
+    }
+    
+    /**
+     * Authoritative total for a booking.
+     *
+     * @throws IllegalArgumentException if the garden does not exist or the duration is out of range
+     */
+    public BigDecimal totalPrice(UUID gardenId, Integer durationMonths) {
+        long[] table = gardenId == null ? null : table(gardenId);
+        if (table == null) {
+            throw new IllegalArgumentException("Garden not found: " + gardenId);
+        }
+        if (durationMonths == null || durationMonths < 1 || durationMonths > maxMonths) {
+            throw new IllegalArgumentException("durationMonths must be between 1 and " + maxMonths);
+        }
+        return BigDecimal.valueOf(table[durationMonths], SCALE);
+    }
+    
+    // Falls back to the database for gardens not seen yet (e.g. before startup completes)
+    private long[] table(UUID gardenId) {
+        long[] table = tables.get(gardenId);
+        if (table == null) {
+            table = gardenRepository.findPriceById(gardenId)
+                    .map(GardenRepository.Price::getBasePricePerMonth)
+                    .map(this::table)
+                    .orElse(null);
+            if (table != null) {
+                tables.putIfAbsent(gardenId, table);
+            }
+        }
+        return table;
+    }
+    
+    private long[] table(BigDecimal basePricePerMonth) {
+        long perMonth = basePricePerMonth == null ? 0
+                : basePricePerMonth.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        long[] table = new long[maxMonths + 1];
+        for (int months = 1; months <= maxMonths; months++) {
+            table[months] = Math.multiplyExact(perMonth, months);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,128 @@
+package com.gardenspace.services;
+
+import com.gardenspace.models.RefreshToken;
+import com.gardenspace.repositories.RefreshTokenRepository;
+import com.gardenspace.security.JwtUtil;
+import com.gardenspace.security.TokenRevocationList;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Server-side sessions behind the short-lived access tokens. Signing in
+ * starts a session with a random refresh token; each refresh uses the token
+ * up and returns its successor (rotation). Presenting a used token again
+ * means it leaked, so the whole session is revoked: its refresh tokens are
+ * deleted and its access tokens rejected through {@link TokenRevocationList}.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationList revocationList;
+    private final JwtUtil jwtUtil;
+    
+    @Value("${jwt.refresh.expiration:2592000000}")
+    private long refreshExpiration = Duration.ofDays(30).toMillis();
+    
+    /** A refresh token handed to the client, with the session it extends. */
+    public record Issued(String token, UUID userId, UUID sessionId) {
+    }
+    
+    @Transactional
+    public Issued startSession(UUID userId) {
+        return issue(userId, UUID.randomUUID());
+    }
+    
+    /**
+     * Uses the refresh token up and issues its successor in the same session.
+     *
+     * @throws InvalidRefreshTokenException if the token is unknown or expired, or was already
+     *                                      used, in which case its session is revoked as well
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Issued rotate(String token) {
+        RefreshToken current = find(token)
+                .filter(stored -> stored.getExpiresAt().isAfter(OffsetDateTime.now()))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+        if (refreshTokenRepository.markUsed(current.getId(), OffsetDateTime.now()) == 0) {
+            revokeSession(current.getUserId(), current.getSessionId());
+            throw new InvalidRefreshTokenException("Refresh token reused; the session has been revoked");
+        }
+        return issue(current.getUserId(), current.getSessionId());
+    }
+    
+    /** Ends the refresh token's session; false if the token is unknown. */
+    @Transactional
+    public boolean endSession(String token) {
+        return find(token)
+                .map(stored -> {
+                    revokeSession(stored.getUserId(), stored.getSessionId());
+                    return true;
+                })
+                .orElse(false);
+    }
+    
+    /** Ends every session of the user, e.g. after a role change; returns how many there were. */
+    @Transactional
+    public int endAllSessions(UUID userId) {
+        List<UUID> sessions = refreshTokenRepository.findSessionIds(userId);
+        sessions.forEach(sessionId -> revokeSession(userId, sessionId));
+        return sessions.size();
+    }
+    
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(OffsetDateTime.now());
+    }
+    
+    // Access tokens of the session stay revoked until the last one issued could have expired
+    private void revokeSession(UUID userId, UUID sessionId) {
+        refreshTokenRepository.deleteSession(sessionId);
+        revocationList.revoke(sessionId, userId, System.currentTimeMillis() + jwtUtil.getExpiration());
+    }
+    
+    private Issued issue(UUID userId, UUID sessionId) {
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+        
+        RefreshToken stored = new RefreshToken();
+        stored.setTokenHash(hash(token));
+        stored.setUserId(userId);
+        stored.setSessionId(sessionId);
+        stored.setExpiresAt(OffsetDateTime.now().plus(Duration.ofMillis(refreshExpiration)));
+        refreshTokenRepository.save(stored);
+        return new Issued(token, userId, sessionId);
+    }
+    
+    private Optional<RefreshToken> find(String token) {
+        return token == null || token.isBlank() ? Optional.empty() : refreshTokenRepository.findByTokenHash(hash(token));
+    }
+    
+    private static String hash(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.gardenspace.services;
+
+/** Thrown when a reservation could not be admitted in time; safe to retry. */
+public class ReservationBusyException extends RuntimeException {
+    
+    public ReservationBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,131 @@
+package com.gardenspace.controllers;
+
+import com.gardenspace.config.SecurityConfig;
+import com.gardenspace.dto.BookingEventPage;
+import com.gardenspace.security.JwtAuthenticator;
+import com.gardenspace.security.JwtUtil;
+import com.gardenspace.security.RateLimiter;
+import com.gardenspace.security.TokenRevocationList;
+import com.gardenspace.services.BookingEventLog;
+import com.gardenspace.services.BookingSummaryCounters;
+import com.gardenspace.services.GardenWaitlist;
+import com.gardenspace.services.RefreshTokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminController.class)
+@Import({SecurityConfig.class, JwtAuthenticator.class, JwtUtil.class, RateLimiter.class})
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private TokenRevocationList revocationList;
+
+    @MockBean
+    private BookingEventLog bookingEventLog;
+
+    @MockBean
+    private BookingSummaryCounters summaryCounters;
+
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockBean
+    private GardenWaitlist waitlist;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void revokeSessions_WithoutToken_Returns401() throws Exception {
+        mockMvc.perform(post("/api/admin/users/{userId}/sessions/revoke", userId))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    @Test
+    void revokeSessions_AsUser_Returns403() throws Exception {
+        mockMvc.perform(post("/api/admin/users/{userId}/sessions/revoke", userId)
+                        .header("Authorization", bearer("USER")))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    @Test
+    void revokeSessions_AsAdmin_EndsAllSessions() throws Exception {
+        when(refreshTokenService.endAllSessions(userId)).thenReturn(2);
+
+        mockMvc.perform(post("/api/admin/users/{userId}/sessions/revoke", userId)
+                        .header("Authorization", bearer("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.revokedSessions").value(2));
+        verify(refreshTokenService).endAllSessions(any());
+    }
+
+    @Test
+    void getBookingEvents_WithoutAdminToken_IsRejected() throws Exception {
+        mockMvc.perform(get("/api/admin/booking-events"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/admin/booking-events").header("Authorization", bearer("USER")))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(bookingEventLog);
+    }
+
+    @Test
+    void getBookingEvents_AsAdmin_ReturnsPage() throws Exception {
+        when(bookingEventLog.read(0, 500)).thenReturn(new BookingEventPage(List.of(), 0, 0));
+
+        mockMvc.perform(get("/api/admin/booking-events").header("Authorization", bearer("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.endOffset").value(0));
+    }
+
+    @Test
+    void setWaitlistPriority_AsUser_Returns403() throws Exception {
+        mockMvc.perform(put("/api/admin/gardens/{gardenId}/waitlist/{entryId}/priority", UUID.randomUUID(), UUID.randomUUID())
+                        .param("priority", "5")
+                        .header("Authorization", bearer("USER")))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(waitlist);
+    }
+
+    @Test
+    void setWaitlistPriority_AsAdmin_ReturnsNoContentOrNotFound() throws Exception {
+        UUID gardenId = UUID.randomUUID();
+        UUID entryId = UUID.randomUUID();
+        when(waitlist.setPriority(gardenId, entryId, 5)).thenReturn(true);
+
+        mockMvc.perform(put("/api/admin/gardens/{gardenId}/waitlist/{entryId}/priority", gardenId, entryId)
+                        .param("priority", "5")
+                        .header("Authorization", bearer("ADMIN")))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(put("/api/admin/gardens/{gardenId}/waitlist/{entryId}/priority", gardenId, UUID.randomUUID())
+                        .param("priority", "5")
+                        .header("Authorization", bearer("ADMIN")))
+                .andExpect(status().isNotFound());
+    }
+
+    private String bearer(String role) {
+        return "Bearer " + jwtUtil.generateToken(UUID.randomUUID(), role.toLowerCase() + "@example.com", role);
+    }
+}
@@ -1,31 +1,49 @@
 package com.gardenspace.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gardenspace.config.SecurityConfig;
+import com.gardenspace.dto.BookingFilter;
+import com.gardenspace.dto.BulkTransitionRequest;
+import com.gardenspace.dto.BulkTransitionResult;
+import com.gardenspace.dto.CursorPage;
 import com.gardenspace.models.Booking;
+import com.gardenspace.security.JwtAuthenticator;
+import com.gardenspace.security.JwtUtil;
+import com.gardenspace.security.RateLimiter;
+import com.gardenspace.security.TokenRevocationList;
+import com.gardenspace.services.BookingCommitPipeline;
 import com.gardenspace.services.BookingService;
+import com.gardenspace.services.DuplicateBookingException;
+import com.gardenspace.services.PlotsUnavailableException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BookingController.class)
+@Import({SecurityConfig.class, JwtAuthenticator.class, JwtUtil.class, RateLimiter.class})
 class BookingControllerTest {
 
     @Autowired
@@ -34,9 +52,18 @@ class BookingControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private TokenRevocationList revocationList;
+
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private BookingCommitPipeline commitPipeline;
+
     private Booking testBooking;
     private UUID bookingId;
     private UUID userId;
@@ -103,6 +130,111 @@ class BookingControllerTest {
         assertThat(result.getResponse().getStatus()).isEqualTo(200);
     }
 
+    @Test
+    void getBookingsByUser_WithFilters_ReturnsCursorPage() throws Exception {
+        when(bookingService.getBookingsPageByUser(eq(userId), any(BookingFilter.class), eq(null), eq(10)))
+                .thenReturn(new CursorPage<>(List.of(testBooking), "next"));
+
+        mockMvc.perform(get("/api/bookings/user/{userId}", userId)
+                        .param("status", "pending")
+                        .param("from", "2027-01-01")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(bookingId.toString()))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void getBookingsByGarden_WithInvalidSort_Returns400() throws Exception {
+        when(bookingService.getBookingsPageByGarden(eq(gardenId), any(BookingFilter.class), eq(null), eq(null)))
+                .thenThrow(new IllegalArgumentException("sort must be startDate or -startDate"));
+
+        mockMvc.perform(get("/api/bookings/garden/{gardenId}", gardenId).param("sort", "price"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("sort must be startDate or -startDate"));
+    }
+
+    @Test
+    void createBooking_WhenGardenIsFull_Returns409() throws Exception {
+        testBooking.setStatus("confirmed");
+        when(bookingService.createBooking(any(Booking.class))).thenThrow(new PlotsUnavailableException(gardenId));
+
+        mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testBooking)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("No plots available in garden " + gardenId));
+    }
+
+    @Test
+    void createBooking_WithGroupCommit_ReturnsDuplicateAs409() throws Exception {
+        when(commitPipeline.isEnabled()).thenReturn(true);
+        when(commitPipeline.create(any(Booking.class)))
+                .thenThrow(new DuplicateBookingException(gardenId, testBooking.getStartDate()));
+
+        mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testBooking)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value(startsWith("one_booking_per_user_garden")));
+    }
+
+    @Test
+    void createBooking_BeyondRateLimit_Returns429WithRetryAfter() throws Exception {
+        when(bookingService.createBooking(any(Booking.class))).thenReturn(testBooking);
+        String bookingJson = objectMapper.writeValueAsString(testBooking);
+
+        for (int i = 0; i < 30; i++) {
+            mockMvc.perform(post("/api/bookings")
+                            .with(remoteAddr("10.1.2.3"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(bookingJson))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(post("/api/bookings")
+                        .with(remoteAddr("10.1.2.3"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookingJson))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+        mockMvc.perform(post("/api/bookings")
+                        .with(remoteAddr("10.1.2.4"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookingJson))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void transitionBookings_RequiresAdmin() throws Exception {
+        String body = objectMapper.writeValueAsString(new BulkTransitionRequest(List.of(bookingId), "confirmed"));
+
+        mockMvc.perform(post("/api/bookings/transitions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/bookings/transitions")
+                        .header("Authorization", bearer("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void transitionBookings_AsAdmin_ReturnsResults() throws Exception {
+        when(bookingService.transitionAll(List.of(bookingId), "confirmed")).thenReturn(new BulkTransitionResult(1,
+                List.of(new BulkTransitionResult.Item(bookingId, "updated", "pending"))));
+
+        mockMvc.perform(post("/api/bookings/transitions")
+                        .header("Authorization", bearer("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkTransitionRequest(List.of(bookingId), "confirmed"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.results[0].result").value("updated"));
+    }
+
     @Test
     void confirmBooking_UpdatesStatusAndPaymentMethod() throws Exception {
         Booking confirmedBooking = new Booking();
@@ -157,4 +289,15 @@ class BookingControllerTest {
         assertThat(result.getResponse().getContentAsString()).contains("15000");
         assertThat(result.getResponse().getContentType()).contains("application/json");
     }
+
+    private String bearer(String role) {
+        return "Bearer " + jwtUtil.generateToken(UUID.randomUUID(), role.toLowerCase() + "@example.com", role);
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
 }
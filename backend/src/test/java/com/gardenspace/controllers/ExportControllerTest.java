@@ -0,0 +1,92 @@
+package com.gardenspace.controllers;
+
+import com.gardenspace.config.SecurityConfig;
+import com.gardenspace.security.JwtAuthenticator;
+import com.gardenspace.security.JwtUtil;
+import com.gardenspace.security.RateLimiter;
+import com.gardenspace.security.TokenRevocationList;
+import com.gardenspace.services.ExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+@Import({SecurityConfig.class, JwtAuthenticator.class, JwtUtil.class, RateLimiter.class})
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private TokenRevocationList revocationList;
+
+    @MockBean
+    private ExportService exportService;
+
+    @Test
+    void export_StreamsDatasetInRequestedFormat() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class)
+                    .write("id,name\r\n1,Kert\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).export(eq(ExportService.Dataset.GARDENS), eq(ExportService.Format.CSV), any());
+
+        MvcResult started = mockMvc.perform(get("/api/exports/gardens").param("format", "csv")
+                        .header("Authorization", bearer("ADMIN")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"gardens.csv\""))
+                .andExpect(content().string("id,name\r\n1,Kert\r\n"));
+    }
+
+    @Test
+    void export_WithUnknownDatasetOrFormat_Returns400() throws Exception {
+        mockMvc.perform(get("/api/exports/passwords").header("Authorization", bearer("ADMIN")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown export: passwords"));
+        mockMvc.perform(get("/api/exports/users").param("format", "xml").header("Authorization", bearer("ADMIN")))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void export_WithoutToken_Returns401() throws Exception {
+        mockMvc.perform(get("/api/exports/users"))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void export_AsUser_Returns403() throws Exception {
+        mockMvc.perform(get("/api/exports/users").header("Authorization", bearer("USER")))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(exportService);
+    }
+
+    private String bearer(String role) {
+        return "Bearer " + jwtUtil.generateToken(UUID.randomUUID(), role.toLowerCase() + "@example.com", role);
+    }
+}
@@ -1,40 +1,85 @@
 package com.gardenspace.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gardenspace.config.SecurityConfig;
+import com.gardenspace.dto.CursorPage;
+import com.gardenspace.dto.FacetedPage;
+import com.gardenspace.dto.FreeGarden;
+import com.gardenspace.dto.GardenAvailability;
+import com.gardenspace.dto.GardenChanges;
+import com.gardenspace.dto.GardenFilter;
+import com.gardenspace.dto.GardenImportResult;
 import com.gardenspace.models.Garden;
+import com.gardenspace.security.JwtAuthenticator;
+import com.gardenspace.security.JwtUtil;
+import com.gardenspace.security.RateLimiter;
+import com.gardenspace.security.TokenRevocationList;
+import com.gardenspace.services.GardenImportService;
+import com.gardenspace.services.GardenResponseCache;
 import com.gardenspace.services.GardenService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(GardenController.class)
+@Import({SecurityConfig.class, JwtAuthenticator.class, JwtUtil.class, RateLimiter.class, GardenResponseCache.class})
 class GardenControllerTest {
 
+    // The response cache outlives a single test; a fresh catalog version per
+    // test keeps one test's cached bodies from leaking into the next
+    private static final AtomicLong catalogVersion = new AtomicLong(1_000);
+
     @Autowired
     private MockMvc mockMvc;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private TokenRevocationList revocationList;
+
     @MockBean
     private GardenService gardenService;
 
+    @MockBean
+    private GardenImportService importService;
+
     private Garden testGarden;
     private UUID gardenId;
 
@@ -49,6 +94,7 @@ class GardenControllerTest {
         testGarden.setTotalPlots(10);
         testGarden.setAvailablePlots(8);
         testGarden.setBasePricePerMonth(new BigDecimal("5000"));
+        when(gardenService.getCatalogVersion()).thenReturn(catalogVersion.incrementAndGet());
     }
 
     @Test
@@ -66,6 +112,83 @@ class GardenControllerTest {
         assertThat(result.getResponse().getStatus()).isEqualTo(200);
     }
 
+    @Test
+    void getAllGardens_WithLimit_ReturnsPageWithNextCursor() throws Exception {
+        when(gardenService.getGardensPage(isNull(), eq(1)))
+                .thenReturn(new CursorPage<>(List.of(testGarden), "next-token"));
+
+        mockMvc.perform(get("/api/gardens").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Test Garden"))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
+    @Test
+    void getAllGardens_WithFields_ReturnsOnlySelectedProperties() throws Exception {
+        when(gardenService.getAllGardens()).thenReturn(Arrays.asList(testGarden));
+
+        MvcResult result = mockMvc.perform(get("/api/gardens").param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Test Garden"))
+                .andExpect(jsonPath("$[0].id").value(gardenId.toString()))
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString()).doesNotContain("description");
+        assertThat(result.getResponse().getContentAsString()).doesNotContain("amenities");
+    }
+
+    @Test
+    void getAllGardens_WithUnknownField_Returns400() throws Exception {
+        mockMvc.perform(get("/api/gardens").param("fields", "name,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void filterGardens_BindsFilterAndReturnsFacets() throws Exception {
+        when(gardenService.filterGardens(argThat((GardenFilter filter) ->
+                        filter.getAmenities().equals(List.of("Kút", "Parkoló"))
+                                && filter.isAvailable()
+                                && filter.getMaxPrice().compareTo(new BigDecimal("8000")) == 0),
+                isNull(), isNull()))
+                .thenReturn(new FacetedPage<>(List.of(testGarden), null, 1,
+                        new FacetedPage.Facets(Map.of("Kút", 1), 1)));
+
+        mockMvc.perform(get("/api/gardens/filter")
+                        .param("amenities", "Kút,Parkoló")
+                        .param("maxPrice", "8000")
+                        .param("available", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Test Garden"))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.facets.amenities['Kút']").value(1));
+    }
+
+    @Test
+    void getGardenChanges_ReturnsChangedDeletedAndNextToken() throws Exception {
+        UUID deletedId = UUID.randomUUID();
+        when(gardenService.getChangesSince(eq("prev-token"), isNull()))
+                .thenReturn(new GardenChanges<>(List.of(testGarden), List.of(deletedId), "next-token", false, false));
+
+        mockMvc.perform(get("/api/gardens/changes").param("since", "prev-token").param("fields", "id,availablePlots"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[0].availablePlots").value(8))
+                .andExpect(jsonPath("$.changed[0].name").doesNotExist())
+                .andExpect(jsonPath("$.deleted[0]").value(deletedId.toString()))
+                .andExpect(jsonPath("$.nextToken").value("next-token"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void getGardenChanges_WithInvalidToken_Returns400() throws Exception {
+        when(gardenService.getChangesSince(eq("garbage"), isNull()))
+                .thenThrow(new IllegalArgumentException("Invalid sync token"));
+
+        mockMvc.perform(get("/api/gardens/changes").param("since", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid sync token"));
+    }
+
     @Test
     void getGardenById_WhenExists_ReturnsGardenWithAllFields() throws Exception {
         when(gardenService.getGardenById(gardenId)).thenReturn(Optional.of(testGarden));
@@ -81,6 +204,82 @@ class GardenControllerTest {
         assertThat(result.getResponse().getContentAsString()).contains(gardenId.toString());
     }
 
+    @Test
+    void getGardenById_WithMatchingEtag_Returns304WithoutBody() throws Exception {
+        when(gardenService.getGardenById(gardenId)).thenReturn(Optional.of(testGarden));
+
+        MvcResult first = mockMvc.perform(get("/api/gardens/{id}", gardenId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", containsString("stale-while-revalidate")))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        MvcResult second = mockMvc.perform(get("/api/gardens/{id}", gardenId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        assertThat(etag).contains(gardenId.toString());
+        assertThat(second.getResponse().getContentAsString()).isEmpty();
+    }
+
+    @Test
+    void getAllGardens_WithCurrentCatalogEtag_Returns304WithoutLoading() throws Exception {
+        long version = catalogVersion.incrementAndGet();
+        when(gardenService.getCatalogVersion()).thenReturn(version);
+        when(gardenService.getAllGardens()).thenReturn(Arrays.asList(testGarden));
+
+        String etag = mockMvc.perform(get("/api/gardens"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/gardens").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(gardenService, times(1)).getAllGardens();
+
+        when(gardenService.getCatalogVersion()).thenReturn(catalogVersion.incrementAndGet());
+        mockMvc.perform(get("/api/gardens").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    void getAvailableGardens_RepeatedRequest_IsServedFromResponseCache() throws Exception {
+        when(gardenService.getAvailableGardens()).thenReturn(Arrays.asList(testGarden));
+
+        String first = mockMvc.perform(get("/api/gardens/available"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(get("/api/gardens/available"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(second).isEqualTo(first).contains("Test Garden");
+        verify(gardenService, times(1)).getAvailableGardens();
+
+        when(gardenService.getCatalogVersion()).thenReturn(catalogVersion.incrementAndGet());
+        mockMvc.perform(get("/api/gardens/available")).andExpect(status().isOk());
+        verify(gardenService, times(2)).getAvailableGardens();
+    }
+
+    @Test
+    void getAllGardens_AcceptingGzip_ReturnsGzippedBodyWithOwnEtag() throws Exception {
+        when(gardenService.getAllGardens()).thenReturn(Arrays.asList(testGarden));
+
+        MvcResult result = mockMvc.perform(get("/api/gardens").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", containsString("-gz")))
+                .andReturn();
+
+        assertThat(result.getResponse().getHeaders("Vary")).anyMatch(vary -> vary.contains("Accept-Encoding"));
+        try (GZIPInputStream body = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).contains("Test Garden");
+        }
+    }
+
     @Test
     void getGardenById_WhenNotExists_Returns404() throws Exception {
         UUID nonExistentId = UUID.randomUUID();
@@ -113,6 +312,37 @@ class GardenControllerTest {
         assertThat(responseBody).contains("5000");
     }
 
+    @Test
+    void importGardens_WithCsvBody_ReturnsPerRowErrors() throws Exception {
+        when(importService.importGardens(any(), eq(GardenImportService.Format.CSV)))
+                .thenReturn(new GardenImportResult(2, 1, List.of(
+                        new GardenImportResult.RowError(3, "ownerId is required"))));
+
+        mockMvc.perform(post("/api/gardens/import")
+                        .header("Authorization", bearer("ADMIN"))
+                        .contentType("text/csv")
+                        .content("name,description,address,basePricePerMonth,ownerId\r\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(3))
+                .andExpect(jsonPath("$.errors[0].error").value("ownerId is required"));
+    }
+
+    @Test
+    void importGardens_RequiresAdmin() throws Exception {
+        mockMvc.perform(post("/api/gardens/import")
+                        .contentType("text/csv")
+                        .content("name,description,address,basePricePerMonth,ownerId\r\n"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/gardens/import")
+                        .header("Authorization", bearer("USER"))
+                        .contentType("text/csv")
+                        .content("name,description,address,basePricePerMonth,ownerId\r\n"))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(importService);
+    }
+
     @Test
     void searchGardens_ReturnsMatchingResults() throws Exception {
         when(gardenService.searchGardens("Debrecen")).thenReturn(Arrays.asList(testGarden));
@@ -127,6 +357,37 @@ class GardenControllerTest {
         assertThat(result.getResponse().getStatus()).isEqualTo(200);
     }
 
+    @Test
+    void getGardenAvailability_ReturnsMonthlyOccupancy() throws Exception {
+        LocalDate from = LocalDate.of(2026, 5, 1);
+        LocalDate to = LocalDate.of(2026, 6, 30);
+        when(gardenService.getAvailability(gardenId, from, to)).thenReturn(Optional.of(new GardenAvailability(gardenId, 10, 6, List.of(
+                new GardenAvailability.Month(YearMonth.of(2026, 5), 4, 6),
+                new GardenAvailability.Month(YearMonth.of(2026, 6), 2, 8)))));
+
+        mockMvc.perform(get("/api/gardens/{id}/availability", gardenId)
+                        .param("from", "2026-05-01")
+                        .param("to", "2026-06-30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.freePlots").value(6))
+                .andExpect(jsonPath("$.months[1].month").value("2026-06"))
+                .andExpect(jsonPath("$.months[1].free").value(8));
+    }
+
+    @Test
+    void findGardensWithFreePlots_ReturnsGardensWithFreePlotCounts() throws Exception {
+        LocalDate from = LocalDate.of(2026, 5, 1);
+        when(gardenService.findGardensWithFreePlots(from, from, 2, null, null))
+                .thenReturn(new CursorPage<>(List.of(new FreeGarden(testGarden, 5)), null));
+
+        mockMvc.perform(get("/api/gardens/availability")
+                        .param("from", "2026-05-01")
+                        .param("plots", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Test Garden"))
+                .andExpect(jsonPath("$.items[0].freePlots").value(5));
+    }
+
     @Test
     void deleteGarden_WhenExists_ReturnsNoContent() throws Exception {
         when(gardenService.deleteGarden(gardenId)).thenReturn(true);
@@ -138,4 +399,8 @@ class GardenControllerTest {
         assertThat(result.getResponse().getStatus()).isEqualTo(204);
         assertThat(result.getResponse().getContentAsString()).isEmpty();
     }
+
+    private String bearer(String role) {
+        return "Bearer " + jwtUtil.generateToken(UUID.randomUUID(), role.toLowerCase() + "@example.com", role);
+    }
 }
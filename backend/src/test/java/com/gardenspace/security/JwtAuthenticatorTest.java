@@ -0,0 +1,142 @@
+package com.gardenspace.security;
+
+import com.gardenspace.repositories.RevokedSessionRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticatorTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-256-bits-long-for-hs256";
+
+    private JwtUtil jwtUtil;
+    private TokenRevocationList revocationList;
+    private JwtAuthenticator authenticator;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        jwtUtil.init();
+        revocationList = new TokenRevocationList(mock(RevokedSessionRepository.class));
+        revocationList.createFilter();
+        authenticator = new JwtAuthenticator(spy(jwtUtil), revocationList);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticate_ShouldVerifySignatureOnceThenServeFromCache() {
+        JwtUtil parser = (JwtUtil) ReflectionTestUtils.getField(authenticator, "jwtUtil");
+        String token = jwtUtil.generateToken(userId, "anna@example.com", "ADMIN");
+
+        Optional<JwtPrincipal> first = authenticator.authenticate(token);
+        Optional<JwtPrincipal> second = authenticator.authenticate(token);
+
+        assertEquals(new JwtPrincipal(userId, "anna@example.com", "ADMIN"), first.orElseThrow());
+        assertEquals(first, second);
+        verify(parser, times(1)).parseToken(token);
+        assertEquals(1, authenticator.size());
+    }
+
+    @Test
+    void authenticate_ShouldRejectTamperedForeignAndExpiredTokens() {
+        String token = jwtUtil.generateToken(userId, "anna@example.com", "USER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String foreign = Jwts.builder()
+                .setSubject(userId.toString())
+                .signWith(Keys.hmacShaKeyFor("another-secret-key-that-is-also-256-bits-long".getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+        ReflectionTestUtils.setField(jwtUtil, "expiration", -1_000L);
+        String expired = jwtUtil.generateToken(userId, "anna@example.com", "USER");
+
+        assertTrue(authenticator.authenticate(tampered).isEmpty());
+        assertTrue(authenticator.authenticate(foreign).isEmpty());
+        assertTrue(authenticator.authenticate(expired).isEmpty());
+        assertTrue(authenticator.authenticate("not-a-jwt").isEmpty());
+        assertEquals(0, authenticator.size());
+    }
+
+    @Test
+    void authenticate_ShouldRejectTokensOfRevokedSessionEvenWhenCached() {
+        UUID sessionId = UUID.randomUUID();
+        String token = jwtUtil.generateToken(userId, "anna@example.com", "ADMIN", sessionId);
+        String otherSession = jwtUtil.generateToken(userId, "anna@example.com", "ADMIN", UUID.randomUUID());
+        assertTrue(authenticator.authenticate(token).isPresent());
+
+        revocationList.revoke(sessionId, userId, System.currentTimeMillis() + 60_000);
+
+        assertTrue(authenticator.authenticate(token).isEmpty());
+        assertTrue(authenticator.authenticate(otherSession).isPresent());
+    }
+
+    @Test
+    void authenticate_ShouldStopCachingWhenFull() {
+        ReflectionTestUtils.setField(authenticator, "maxEntries", 2);
+
+        for (int i = 0; i < 5; i++) {
+            String token = jwtUtil.generateToken(UUID.randomUUID(), "user" + i + "@example.com", "USER");
+            assertTrue(authenticator.authenticate(token).isPresent());
+        }
+
+        assertEquals(2, authenticator.size());
+    }
+
+    @Test
+    void filter_ShouldPopulateSecurityContextFromBearerToken() throws Exception {
+        String token = jwtUtil.generateToken(userId, "anna@example.com", "ADMIN");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings");
+        request.addHeader("Authorization", "Bearer " + token);
+        Authentication[] seen = new Authentication[1];
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                seen[0] = SecurityContextHolder.getContext().getAuthentication();
+            }
+        });
+
+        new JwtAuthenticationFilter(authenticator).doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(seen[0]);
+        assertEquals(userId, ((JwtPrincipal) seen[0].getPrincipal()).userId());
+        assertEquals("ROLE_ADMIN", seen[0].getAuthorities().stream().map(GrantedAuthority::getAuthority).findFirst().orElseThrow());
+    }
+
+    @Test
+    void filter_ShouldLeaveRequestAnonymousForInvalidToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings");
+        request.addHeader("Authorization", "Bearer garbage");
+        MockFilterChain chain = new MockFilterChain();
+
+        new JwtAuthenticationFilter(authenticator).doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
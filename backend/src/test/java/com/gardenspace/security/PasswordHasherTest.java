@@ -0,0 +1,112 @@
+package com.gardenspace.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.stop();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_ShouldRoundTripAtConfiguredCost() {
+        hasher = hasher(4, 1, 8);
+
+        String hash = hasher.encode("secret").join();
+
+        assertEquals(4, PasswordHasher.costOf(hash));
+        assertTrue(hasher.matches("secret", hash).join());
+        assertFalse(hasher.matches("wrong", hash).join());
+    }
+
+    @Test
+    void submit_ShouldFailFastWhenWorkersAndQueueAreTaken() throws Exception {
+        hasher = hasher(4, 1, 1);
+        ExecutorService executor = (ExecutorService) ReflectionTestUtils.getField(hasher, "executor");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            awaitQuietly(release);
+        });
+        running.await();
+        CompletableFuture<String> queued = hasher.encode("queued");
+
+        CompletableFuture<String> rejected = hasher.encode("rejected");
+
+        CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(PasswordHashingBusyException.class, e.getCause());
+        release.countDown();
+        assertTrue(hasher.matches("queued", queued.join()).join());
+    }
+
+    @Test
+    void needsRehash_ShouldFlagOnlyWeakerHashes() {
+        hasher = hasher(5, 1, 8);
+
+        assertTrue(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(hasher.needsRehash(new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(hasher.needsRehash(hasher.encode("secret").join()));
+        assertFalse(hasher.needsRehash("not-a-bcrypt-hash"));
+        assertFalse(hasher.needsRehash(null));
+    }
+
+    @Test
+    void calibrate_ShouldStayWithinCostBounds() {
+        hasher = new PasswordHasher();
+        ReflectionTestUtils.setField(hasher, "minCost", 4);
+        ReflectionTestUtils.setField(hasher, "maxCost", 6);
+
+        ReflectionTestUtils.setField(hasher, "targetMs", 60_000L);
+        assertEquals(6, hasher.calibrate());
+
+        ReflectionTestUtils.setField(hasher, "targetMs", 0L);
+        assertEquals(4, hasher.calibrate());
+    }
+
+    @Test
+    void start_ShouldCalibrateWhenNoCostIsConfigured() {
+        hasher = new PasswordHasher();
+        ReflectionTestUtils.setField(hasher, "threads", 1);
+        ReflectionTestUtils.setField(hasher, "minCost", 4);
+        ReflectionTestUtils.setField(hasher, "maxCost", 5);
+        ReflectionTestUtils.setField(hasher, "targetMs", 60_000L);
+
+        hasher.start();
+
+        assertEquals(5, hasher.getCost());
+        assertEquals(5, PasswordHasher.costOf(hasher.encode("secret").join()));
+    }
+
+    private static PasswordHasher hasher(int cost, int threads, int queueCapacity) {
+        PasswordHasher hasher = new PasswordHasher();
+        ReflectionTestUtils.setField(hasher, "configuredCost", cost);
+        ReflectionTestUtils.setField(hasher, "threads", threads);
+        ReflectionTestUtils.setField(hasher, "queueCapacity", queueCapacity);
+        hasher.start();
+        return hasher;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.gardenspace.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new RateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "authCapacity", 3);
+        ReflectionTestUtils.setField(rateLimiter, "authPerMinute", 60);
+        ReflectionTestUtils.invokeMethod(rateLimiter, "configure");
+    }
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenAskToWaitOneInterval() {
+        long now = 1_000 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.1", now));
+        }
+
+        assertEquals(SECOND, rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.1", now));
+        assertEquals(SECOND / 2, rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.1", now + SECOND / 2));
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.1", now + SECOND));
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepClientsAndGroupsApart() {
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.1", now);
+        }
+
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.2", now));
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.Group.BOOKINGS, "ip:10.0.0.1", now));
+        assertTrue(rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.1", now) > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldNotChargeRejectedRequests() {
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.1", now);
+        }
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.1", now);
+        }
+
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.1", now + SECOND));
+    }
+
+    @Test
+    void evictIdle_ShouldDropOnlyRefilledBuckets() {
+        long now = 1_000 * SECOND;
+        rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.1", now);
+        rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.2", now + 5 * SECOND);
+
+        rateLimiter.evictIdle(now + 2 * SECOND);
+
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    void tryAcquire_WhenFull_ShouldEvictIdleBucketsOrLetNewClientsThroughUntracked() {
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 2);
+        long now = System.nanoTime(); // sweeps are paced on the real clock
+        rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.1", now);
+        rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.2", now);
+
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.3", now));
+        assertEquals(2, rateLimiter.size());
+
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:10.0.0.3", now + 2 * SECOND));
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    void account_ShouldIgnoreCaseAndSurroundingSpaces() {
+        assertEquals(RateLimiter.account("anna@example.com"), RateLimiter.account(" Anna@Example.com"));
+    }
+
+    @Test
+    void retryAfterSeconds_ShouldRoundUp() {
+        assertEquals(1, RateLimiter.retryAfterSeconds(1));
+        assertEquals(1, RateLimiter.retryAfterSeconds(SECOND));
+        assertEquals(2, RateLimiter.retryAfterSeconds(SECOND + 1));
+    }
+
+    @Test
+    void group_ShouldMatchOnlyThrottledWrites() {
+        assertEquals(RateLimiter.Group.AUTH, RateLimitFilter.group(new MockHttpServletRequest("POST", "/api/auth/login")));
+        assertEquals(RateLimiter.Group.UPLOADS, RateLimitFilter.group(new MockHttpServletRequest("POST", "/api/uploads/single")));
+        assertEquals(RateLimiter.Group.BOOKINGS, RateLimitFilter.group(new MockHttpServletRequest("POST", "/api/bookings")));
+        assertNull(RateLimitFilter.group(new MockHttpServletRequest("GET", "/api/bookings")));
+        assertNull(RateLimitFilter.group(new MockHttpServletRequest("POST", "/api/bookingsx")));
+        assertNull(RateLimitFilter.group(new MockHttpServletRequest("GET", "/api/auth/me")));
+    }
+}
@@ -0,0 +1,160 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.AuthRequest;
+import com.gardenspace.dto.AuthResponse;
+import com.gardenspace.dto.RegisterRequest;
+import com.gardenspace.models.User;
+import com.gardenspace.repositories.UserRepository;
+import com.gardenspace.security.JwtAuthenticator;
+import com.gardenspace.security.JwtUtil;
+import com.gardenspace.security.PasswordHasher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private JwtAuthenticator jwtAuthenticator;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    private PasswordHasher passwordHasher;
+    private ExecutorService taskExecutor;
+    private AuthService authService;
+    private User user;
+    private final UUID sessionId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        passwordHasher = new PasswordHasher();
+        ReflectionTestUtils.setField(passwordHasher, "configuredCost", 5);
+        ReflectionTestUtils.setField(passwordHasher, "threads", 1);
+        ReflectionTestUtils.invokeMethod(passwordHasher, "start");
+        taskExecutor = Executors.newSingleThreadExecutor(task -> new Thread(task, "task-executor"));
+        authService = new AuthService(userRepository, passwordHasher, jwtUtil, jwtAuthenticator, refreshTokenService,
+                taskExecutor);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("anna@example.com");
+        user.setRole(User.UserRole.USER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(passwordHasher, "stop");
+        taskExecutor.shutdown();
+    }
+
+    @Test
+    void register_ShouldStoreHashOfConfiguredCostOffTheHashingThreads() {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("anna@example.com");
+        request.setPassword("secret");
+        AtomicReference<String> savingThread = new AtomicReference<>();
+        when(userRepository.findByEmail("anna@example.com")).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            savingThread.set(Thread.currentThread().getName());
+            User saved = invocation.getArgument(0);
+            saved.setId(UUID.randomUUID());
+            return saved;
+        });
+        when(refreshTokenService.startSession(any())).thenAnswer(invocation ->
+                new RefreshTokenService.Issued("refresh", invocation.getArgument(0), sessionId));
+        when(jwtUtil.generateToken(any(), anyString(), anyString(), eq(sessionId))).thenReturn("token");
+
+        AuthResponse response = authService.register(request).join();
+
+        assertEquals("token", response.getToken());
+        assertEquals("refresh", response.getRefreshToken());
+        assertEquals("task-executor", savingThread.get());
+        verify(userRepository).save(argThat(saved ->
+                saved.getPassword().startsWith("$2a$05$") && !passwordHasher.needsRehash(saved.getPassword())));
+    }
+
+    @Test
+    void login_ShouldRehashPasswordStoredWithLowerCost() {
+        String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+        user.setPassword(oldHash);
+        when(userRepository.findByEmail("anna@example.com")).thenReturn(Optional.of(user));
+        when(refreshTokenService.startSession(any())).thenAnswer(invocation ->
+                new RefreshTokenService.Issued("refresh", invocation.getArgument(0), sessionId));
+        when(jwtUtil.generateToken(any(), anyString(), anyString(), eq(sessionId))).thenReturn("token");
+
+        authService.login(request("secret")).join();
+
+        verify(userRepository, timeout(5000)).replacePassword(eq(user.getId()), eq(oldHash),
+                argThat(hash -> hash.startsWith("$2a$05$")));
+    }
+
+    @Test
+    void login_ShouldKeepPasswordStoredWithHigherCost() {
+        user.setPassword(new BCryptPasswordEncoder(6).encode("secret"));
+        when(userRepository.findByEmail("anna@example.com")).thenReturn(Optional.of(user));
+        when(refreshTokenService.startSession(any())).thenAnswer(invocation ->
+                new RefreshTokenService.Issued("refresh", invocation.getArgument(0), sessionId));
+        when(jwtUtil.generateToken(any(), anyString(), anyString(), eq(sessionId))).thenReturn("token");
+
+        authService.login(request("secret")).join();
+
+        verify(userRepository, never()).replacePassword(any(), any(), any());
+    }
+
+    @Test
+    void login_ShouldRejectWrongPassword() {
+        user.setPassword(new BCryptPasswordEncoder(4).encode("secret"));
+        when(userRepository.findByEmail("anna@example.com")).thenReturn(Optional.of(user));
+
+        CompletionException e = assertThrows(CompletionException.class, () -> authService.login(request("wrong")).join());
+
+        assertEquals("Invalid login credentials", e.getCause().getMessage());
+        verify(userRepository, never()).replacePassword(any(), any(), any());
+    }
+
+    @Test
+    void refresh_ShouldIssueAccessTokenWithCurrentRole() {
+        user.setRole(User.UserRole.ADMIN);
+        when(refreshTokenService.rotate("old")).thenReturn(new RefreshTokenService.Issued("new", user.getId(), sessionId));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken(user.getId(), "anna@example.com", "ADMIN", sessionId)).thenReturn("token");
+
+        AuthResponse response = authService.refresh("old");
+
+        assertEquals("token", response.getToken());
+        assertEquals("new", response.getRefreshToken());
+    }
+
+    private static AuthRequest request(String password) {
+        AuthRequest request = new AuthRequest();
+        request.setEmail("anna@example.com");
+        request.setPassword(password);
+        return request;
+    }
+}
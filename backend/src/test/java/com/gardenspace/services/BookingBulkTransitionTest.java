@@ -0,0 +1,129 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.BulkTransitionResult;
+import com.gardenspace.events.BookingsTransitionedEvent;
+import com.gardenspace.models.Booking;
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.BookingRepository;
+import com.gardenspace.repositories.GardenRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({BookingService.class, PlotReservationEngine.class, QuoteEngine.class, GardenWaitlist.class})
+@RecordApplicationEvents
+class BookingBulkTransitionTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private GardenRepository gardenRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private UUID gardenId;
+
+    @BeforeEach
+    void setUp() {
+        Garden garden = new Garden();
+        garden.setName("Tócóskerti kert");
+        garden.setDescription("Small neighbourhood garden");
+        garden.setAddress("Tócóskert, Debrecen");
+        garden.setBasePricePerMonth(new BigDecimal("4000"));
+        garden.setOwnerId(UUID.randomUUID());
+        garden.setTotalPlots(3);
+        garden.setAvailablePlots(2); // one plot held by the confirmed booking below
+        gardenId = gardenRepository.save(garden).getId();
+    }
+
+    @Test
+    void transitionAll_ShouldConfirmWhilePlotsLastAndReportEveryId() {
+        Booking first = booking("pending");
+        Booking second = booking("pending");
+        Booking third = booking("pending");
+        Booking confirmed = booking("confirmed");
+        UUID unknown = UUID.randomUUID();
+
+        BulkTransitionResult result = bookingService.transitionAll(
+                List.of(first.getId(), second.getId(), third.getId(), confirmed.getId(), unknown, first.getId()),
+                "confirmed");
+        entityManager.clear();
+
+        assertEquals(2, result.getUpdated());
+        assertEquals(List.of("updated", "updated", "no_plots", "unchanged", "not_found"),
+                result.getResults().stream().map(BulkTransitionResult.Item::getResult).toList());
+        assertEquals("confirmed", bookingRepository.findById(second.getId()).orElseThrow().getStatus());
+        assertEquals("pending", bookingRepository.findById(third.getId()).orElseThrow().getStatus());
+        assertEquals(0, gardenRepository.findById(gardenId).orElseThrow().getAvailablePlots());
+        assertEquals(1, events.stream(BookingsTransitionedEvent.class).count());
+    }
+
+    @Test
+    void transitionAll_ShouldReturnPlotsOfCancelledBookings() {
+        Booking pending = booking("pending");
+        Booking confirmed = booking("confirmed");
+
+        BulkTransitionResult result = bookingService.transitionAll(List.of(pending.getId(), confirmed.getId()), "cancelled");
+        entityManager.clear();
+
+        assertEquals(2, result.getUpdated());
+        assertEquals("cancelled", bookingRepository.findById(confirmed.getId()).orElseThrow().getStatus());
+        assertEquals(3, gardenRepository.findById(gardenId).orElseThrow().getAvailablePlots());
+    }
+
+    @Test
+    void expirePendingBookings_ShouldCancelOnlyStillPendingBookings() {
+        Booking abandoned = booking("pending");
+        Booking paid = booking("confirmed");
+
+        assertEquals(1, bookingService.expirePendingBookings(List.of(abandoned.getId(), paid.getId())));
+        entityManager.clear();
+
+        assertEquals("cancelled", bookingRepository.findById(abandoned.getId()).orElseThrow().getStatus());
+        assertEquals("confirmed", bookingRepository.findById(paid.getId()).orElseThrow().getStatus());
+        assertEquals(List.of(abandoned.getId()), events.stream(BookingsTransitionedEvent.class)
+                .flatMap(event -> event.getBookings().stream())
+                .map(BookingRepository.State::getId)
+                .toList());
+    }
+
+    @Test
+    void transitionAll_WithUnsupportedStatus_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.transitionAll(List.of(UUID.randomUUID()), "pending"));
+        assertThrows(IllegalArgumentException.class, () -> bookingService.transitionAll(List.of(), "confirmed"));
+    }
+
+    private Booking booking(String status) {
+        Booking booking = new Booking();
+        booking.setUserId(UUID.randomUUID());
+        booking.setGardenId(gardenId);
+        booking.setStartDate(LocalDate.of(2027, 4, 1));
+        booking.setEndDate(LocalDate.of(2027, 10, 1));
+        booking.setDurationMonths(6);
+        booking.setTotalPrice(new BigDecimal("24000.00"));
+        booking.setStatus(status);
+        return bookingRepository.saveAndFlush(booking);
+    }
+}
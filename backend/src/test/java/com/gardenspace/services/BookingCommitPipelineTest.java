@@ -0,0 +1,168 @@
+package com.gardenspace.services;
+
+import com.gardenspace.events.BookingChangedEvent;
+import com.gardenspace.models.Booking;
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.BookingRepository;
+import com.gardenspace.repositories.GardenRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({BookingCommitPipeline.class, BookingService.class, PlotReservationEngine.class, QuoteEngine.class, GardenWaitlist.class})
+@RecordApplicationEvents
+class BookingCommitPipelineTest {
+
+    private static final LocalDate START = LocalDate.of(2027, 4, 1);
+
+    @Autowired
+    private BookingCommitPipeline pipeline;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private GardenRepository gardenRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private UUID gardenId;
+    private UUID existingUserId;
+
+    @BeforeEach
+    void setUp() {
+        Garden garden = new Garden();
+        garden.setName("Nagyerdei kert");
+        garden.setDescription("Garden by the forest");
+        garden.setAddress("Nagyerdő, Debrecen");
+        garden.setBasePricePerMonth(new BigDecimal("5000"));
+        garden.setOwnerId(UUID.randomUUID());
+        garden.setTotalPlots(2);
+        garden.setAvailablePlots(1);
+        gardenId = gardenRepository.save(garden).getId();
+
+        existingUserId = UUID.randomUUID();
+        Booking existing = booking(existingUserId, "confirmed");
+        existing.setTotalPrice(new BigDecimal("15000.00"));
+        bookingRepository.saveAndFlush(existing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(pipeline, "running", false);
+        ReflectionTestUtils.setField(pipeline, "writer", null);
+        ReflectionTestUtils.setField(pipeline, "queue", null);
+        ReflectionTestUtils.setField(pipeline, "timeoutMs", 10000L);
+    }
+
+    @Test
+    void commit_ShouldInsertBatchAndFailEachRejectedBookingOnItsOwn() {
+        UUID repeatUserId = UUID.randomUUID();
+        BookingCommitPipeline.Pending existingSlot = new BookingCommitPipeline.Pending(booking(existingUserId, "pending"));
+        BookingCommitPipeline.Pending firstConfirmed = new BookingCommitPipeline.Pending(booking(repeatUserId, "confirmed"));
+        BookingCommitPipeline.Pending soldOut = new BookingCommitPipeline.Pending(booking(UUID.randomUUID(), "confirmed"));
+        BookingCommitPipeline.Pending repeated = new BookingCommitPipeline.Pending(booking(repeatUserId, "pending"));
+        BookingCommitPipeline.Pending pending = new BookingCommitPipeline.Pending(booking(UUID.randomUUID(), "pending"));
+
+        pipeline.commit(List.of(existingSlot, firstConfirmed, soldOut, repeated, pending));
+        entityManager.clear();
+
+        assertInstanceOf(DuplicateBookingException.class, failure(existingSlot));
+        assertInstanceOf(PlotsUnavailableException.class, failure(soldOut));
+        assertInstanceOf(DuplicateBookingException.class, failure(repeated));
+        assertTrue(failure(repeated).getMessage().startsWith("one_booking_per_user_garden"));
+
+        Booking confirmed = firstConfirmed.result().join();
+        assertNotNull(confirmed.getId());
+        assertEquals(new BigDecimal("15000.00"), confirmed.getTotalPrice());
+        assertNotNull(pending.result().join().getId());
+        assertEquals(3, bookingRepository.findByGardenId(gardenId).size());
+        assertEquals(0, gardenRepository.findById(gardenId).orElseThrow().getAvailablePlots());
+        assertEquals(2, events.stream(BookingChangedEvent.class).count());
+    }
+
+    @Test
+    void commit_ShouldRejectInvalidBookingsWithoutTouchingTheDatabase() {
+        Booking unknownGarden = booking(UUID.randomUUID(), "pending");
+        unknownGarden.setGardenId(UUID.randomUUID());
+        Booking noStart = booking(UUID.randomUUID(), "pending");
+        noStart.setStartDate(null);
+        BookingCommitPipeline.Pending first = new BookingCommitPipeline.Pending(unknownGarden);
+        BookingCommitPipeline.Pending second = new BookingCommitPipeline.Pending(noStart);
+
+        pipeline.commit(List.of(first, second));
+
+        assertInstanceOf(IllegalArgumentException.class, failure(first));
+        assertInstanceOf(IllegalArgumentException.class, failure(second));
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void submit_WhenDisabled_ShouldRefuse() {
+        assertFalse(pipeline.isEnabled());
+        assertThrows(IllegalStateException.class, () -> pipeline.submit(booking(UUID.randomUUID(), "pending")));
+    }
+
+    @Test
+    void create_WhenWriterHasDied_ShouldCreateDirectly() {
+        Thread dead = new Thread(() -> { });
+        startWith(dead);
+
+        Booking created = pipeline.create(booking(UUID.randomUUID(), "pending"));
+
+        assertNotNull(created.getId());
+        assertEquals(2, bookingRepository.count());
+    }
+
+    @Test
+    void create_WhenBatchDoesNotCommitInTime_ShouldReportBusy() {
+        startWith(Thread.currentThread()); // alive, but never takes from the queue
+        ReflectionTestUtils.setField(pipeline, "timeoutMs", 50L);
+
+        assertThrows(ReservationBusyException.class, () -> pipeline.create(booking(UUID.randomUUID(), "pending")));
+    }
+
+    // Stands in for start() with the given writer, which never drains the queue
+    private void startWith(Thread writer) {
+        ReflectionTestUtils.setField(pipeline, "queue", new ArrayBlockingQueue<>(1));
+        ReflectionTestUtils.setField(pipeline, "writer", writer);
+        ReflectionTestUtils.setField(pipeline, "running", true);
+    }
+
+    private static Throwable failure(BookingCommitPipeline.Pending pending) {
+        assertTrue(pending.result().isCompletedExceptionally());
+        return assertThrows(CompletionException.class, () -> pending.result().join()).getCause();
+    }
+
+    private Booking booking(UUID userId, String status) {
+        Booking booking = new Booking();
+        booking.setUserId(userId);
+        booking.setGardenId(gardenId);
+        booking.setStartDate(START);
+        booking.setEndDate(START.plusMonths(3));
+        booking.setDurationMonths(3);
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -0,0 +1,119 @@
+package com.gardenspace.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gardenspace.dto.BookingEventPage;
+import com.gardenspace.dto.BookingEventRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingEventLogTest {
+
+    @TempDir
+    Path directory;
+
+    private BookingEventLog eventLog;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        eventLog = openLog();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        eventLog.close();
+    }
+
+    @Test
+    void read_ShouldReplayFromAnyOffsetAcrossSegments() throws IOException {
+        List<UUID> bookingIds = appendEvents(100);
+
+        BookingEventPage page = eventLog.read(37, 50);
+
+        assertTrue(segmentFiles() > 1, "small segments should have rolled");
+        assertEquals(50, page.getEvents().size());
+        assertEquals(37, page.getEvents().get(0).getOffset());
+        assertEquals(bookingIds.get(37), page.getEvents().get(0).getBookingId());
+        assertEquals(bookingIds.get(86), page.getEvents().get(49).getBookingId());
+        assertEquals(87, page.getNextOffset());
+        assertEquals(100, page.getEndOffset());
+        assertEquals(13, eventLog.read(87, 50).getEvents().size());
+    }
+
+    @Test
+    void open_ShouldResumeAfterTheLastCompleteRecord() throws IOException {
+        appendEvents(100);
+        eventLog.close();
+
+        // Tear the last record of the active segment: its bytes no longer match the CRC
+        Path active;
+        try (Stream<Path> files = Files.list(directory)) {
+            active = files.filter(file -> file.toString().endsWith(".log")).max(Path::compareTo).orElseThrow();
+        }
+        long lastBase = Long.parseLong(active.getFileName().toString().replace(".log", ""));
+        int lastPosition;
+        try (RandomAccessFile index = new RandomAccessFile(active.resolveSibling(
+                active.getFileName().toString().replace(".log", ".idx")).toFile(), "r")) {
+            index.seek((100 - lastBase - 1) * 4);
+            lastPosition = index.readInt();
+        }
+        try (RandomAccessFile log = new RandomAccessFile(active.toFile(), "rw")) {
+            log.seek(lastPosition + 12);
+            log.write(new byte[]{'x', 'x', 'x'});
+        }
+
+        eventLog = openLog();
+
+        assertEquals(99, eventLog.getEndOffset());
+        appendEvents(1);
+        assertEquals(99, eventLog.read(99, 1).getEvents().get(0).getOffset());
+        assertEquals(100, eventLog.read(0, 500).getEvents().size());
+    }
+
+    @Test
+    void read_WithInvalidArguments_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> eventLog.read(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> eventLog.read(0, 0));
+    }
+
+    private BookingEventLog openLog() throws IOException {
+        BookingEventLog log = new BookingEventLog(new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(log, "directory", directory.toString());
+        ReflectionTestUtils.setField(log, "segmentBytes", 4096);
+        log.open();
+        return log;
+    }
+
+    private List<UUID> appendEvents(int count) throws IOException {
+        List<BookingEventRecord> records = new ArrayList<>();
+        List<UUID> bookingIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID bookingId = UUID.randomUUID();
+            bookingIds.add(bookingId);
+            records.add(new BookingEventRecord(0, "created", bookingId, UUID.randomUUID(), UUID.randomUUID(),
+                    null, "pending", OffsetDateTime.now()));
+        }
+        eventLog.append(records);
+        return bookingIds;
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".log")).count();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.BookingFilter;
+import com.gardenspace.dto.CursorPage;
+import com.gardenspace.models.Booking;
+import com.gardenspace.repositories.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({BookingService.class, PlotReservationEngine.class, QuoteEngine.class, GardenWaitlist.class})
+class BookingServicePagingTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID gardenId = UUID.randomUUID();
+    private final UUID otherGardenId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        // Two bookings per month so the id tie-break is exercised
+        for (int month = 1; month <= 5; month++) {
+            booking(userId, gardenId, LocalDate.of(2027, month, 1), month % 2 == 0 ? "cancelled" : "confirmed");
+            booking(userId, otherGardenId, LocalDate.of(2027, month, 1), "pending");
+        }
+        booking(UUID.randomUUID(), gardenId, LocalDate.of(2027, 3, 1), "confirmed");
+    }
+
+    @Test
+    void getBookingsPageByUser_ShouldWalkAllPagesNewestFirstWithoutGapsOrRepeats() {
+        List<Booking> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Booking> page = bookingService.getBookingsPageByUser(userId, new BookingFilter(), cursor, 3);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(10, seen.size());
+        assertEquals(10, seen.stream().map(Booking::getId).distinct().count());
+        assertTrue(seen.stream().allMatch(booking -> booking.getUserId().equals(userId)));
+        for (int i = 1; i < seen.size(); i++) {
+            assertFalse(seen.get(i).getStartDate().isAfter(seen.get(i - 1).getStartDate()));
+        }
+    }
+
+    @Test
+    void getBookingsPageByUser_ShouldApplyStatusAndDateRangeAscending() {
+        BookingFilter filter = new BookingFilter();
+        filter.setStatus("confirmed");
+        filter.setFrom(LocalDate.of(2027, 2, 1));
+        filter.setTo(LocalDate.of(2027, 5, 1));
+        filter.setSort("startDate");
+
+        CursorPage<Booking> page = bookingService.getBookingsPageByUser(userId, filter, null, 10);
+
+        assertEquals(List.of(LocalDate.of(2027, 3, 1), LocalDate.of(2027, 5, 1)),
+                page.getItems().stream().map(Booking::getStartDate).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getBookingsPageByGarden_ShouldIncludeEveryUsersBookings() {
+        BookingFilter filter = new BookingFilter();
+        filter.setFrom(LocalDate.of(2027, 3, 1));
+        filter.setTo(LocalDate.of(2027, 3, 1));
+
+        CursorPage<Booking> page = bookingService.getBookingsPageByGarden(gardenId, filter, null, null);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.getItems().stream().allMatch(booking -> booking.getGardenId().equals(gardenId)));
+    }
+
+    @Test
+    void getBookingsPageByUser_ShouldRejectInvalidArguments() {
+        BookingFilter unsorted = new BookingFilter();
+        unsorted.setSort("createdAt");
+        BookingFilter inverted = new BookingFilter();
+        inverted.setFrom(LocalDate.of(2027, 5, 1));
+        inverted.setTo(LocalDate.of(2027, 1, 1));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.getBookingsPageByUser(userId, unsorted, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.getBookingsPageByUser(userId, inverted, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.getBookingsPageByUser(userId, new BookingFilter(), null, 101));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.getBookingsPageByUser(userId, new BookingFilter(), "not-a-cursor", null));
+    }
+
+    private void booking(UUID owner, UUID garden, LocalDate startDate, String status) {
+        Booking booking = new Booking();
+        booking.setUserId(owner);
+        booking.setGardenId(garden);
+        booking.setStartDate(startDate);
+        booking.setEndDate(startDate.plusMonths(3));
+        booking.setDurationMonths(3);
+        booking.setTotalPrice(new BigDecimal("12000.00"));
+        booking.setStatus(status);
+        bookingRepository.saveAndFlush(booking);
+    }
+}
@@ -1,5 +1,6 @@
 package com.gardenspace.services;
 
+import com.gardenspace.events.BookingChangedEvent;
 import com.gardenspace.models.Booking;
 import com.gardenspace.repositories.BookingRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -18,6 +21,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +30,18 @@ class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private PlotReservationEngine reservationEngine;
+
+    @Mock
+    private QuoteEngine quoteEngine;
+
+    @Mock
+    private GardenWaitlist waitlist;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -83,6 +99,39 @@ class BookingServiceTest {
         assertTrue(result.isPresent());
         assertEquals("confirmed", result.get().getStatus());
         assertEquals("card_1234", result.get().getPaymentMethod());
+        verify(reservationEngine).reserve(gardenId);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof BookingChangedEvent changed
+                && "pending".equals(changed.getPreviousStatus()) && !changed.isDeleted()));
+    }
+
+    @Test
+    void confirmBooking_WhenGardenIsFull_ShouldNotSave() {
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
+        doThrow(new PlotsUnavailableException(gardenId)).when(reservationEngine).reserve(gardenId);
+
+        assertThrows(PlotsUnavailableException.class, () -> bookingService.confirmBooking(bookingId, "card_1234"));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void cancelBooking_WhenConfirmed_ShouldReturnPlot() {
+        testBooking.setStatus("confirmed");
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+        bookingService.cancelBooking(bookingId);
+
+        verify(reservationEngine).release(gardenId);
+    }
+
+    @Test
+    void deleteBooking_WhenConfirmed_ShouldReturnPlotAndDelete() {
+        testBooking.setStatus("confirmed");
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
+
+        assertTrue(bookingService.deleteBooking(bookingId));
+        verify(reservationEngine).release(gardenId);
+        verify(bookingRepository).delete(testBooking);
     }
 
     @Test
@@ -94,16 +143,51 @@ class BookingServiceTest {
 
         assertTrue(result.isPresent());
         assertEquals("cancelled", result.get().getStatus());
+        verifyNoInteractions(reservationEngine);
     }
 
     @Test
     void createBooking_ShouldSaveAndReturnBooking() {
-        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(testBooking);
 
         Booking result = bookingService.createBooking(testBooking);
 
         assertNotNull(result);
         assertEquals(3, result.getDurationMonths());
-        verify(bookingRepository, times(1)).save(testBooking);
+        verify(bookingRepository, times(1)).saveAndFlush(testBooking);
+        verifyNoInteractions(reservationEngine);
+    }
+
+    @Test
+    void createBooking_ShouldReplaceClientPriceWithQuote() {
+        testBooking.setTotalPrice(BigDecimal.ONE);
+        when(quoteEngine.totalPrice(gardenId, 3)).thenReturn(new BigDecimal("15000.00"));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Booking result = bookingService.createBooking(testBooking);
+
+        assertEquals(new BigDecimal("15000.00"), result.getTotalPrice());
+    }
+
+    @Test
+    void createBooking_WhenConfirmed_ShouldReservePlotFirst() {
+        testBooking.setStatus("confirmed");
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(testBooking);
+
+        bookingService.createBooking(testBooking);
+
+        verify(reservationEngine).reserve(gardenId);
+    }
+
+    @Test
+    void createBooking_WhenSlotTaken_ShouldThrowDuplicateBooking() {
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new RuntimeException("Unique index or primary key violation: \"PUBLIC.ONE_BOOKING_PER_USER_GARDEN\"")));
+
+        DuplicateBookingException e = assertThrows(DuplicateBookingException.class,
+                () -> bookingService.createBooking(testBooking));
+
+        assertTrue(e.getMessage().startsWith("one_booking_per_user_garden"));
+        verifyNoInteractions(eventPublisher);
     }
 }
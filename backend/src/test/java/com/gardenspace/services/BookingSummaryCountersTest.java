@@ -0,0 +1,125 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.AdminSummary;
+import com.gardenspace.events.BookingChangedEvent;
+import com.gardenspace.models.Booking;
+import com.gardenspace.repositories.BookingRepository;
+import com.gardenspace.repositories.GardenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingSummaryCountersTest {
+
+    @Mock
+    private GardenRepository gardenRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private BookingSummaryCounters summaryCounters;
+
+    private UUID owner;
+    private UUID gardenId;
+    private UUID otherGardenId;
+
+    @BeforeEach
+    void setUp() {
+        owner = UUID.randomUUID();
+        gardenId = UUID.randomUUID();
+        otherGardenId = UUID.randomUUID();
+        when(gardenRepository.findHeaders()).thenReturn(List.of(
+                header(gardenId, owner, "Nagyerdei kert", 4),
+                header(otherGardenId, UUID.randomUUID(), "Tócóskerti kert", 6)));
+        when(bookingRepository.sumByGardenAndStatus()).thenReturn(List.of(
+                total(gardenId, "confirmed", 2, "30000"),
+                total(gardenId, "pending", 1, "15000"),
+                total(otherGardenId, "confirmed", 3, "36000")));
+        summaryCounters.reconcile();
+    }
+
+    @Test
+    void summary_ShouldAggregateRecountedTotals() {
+        AdminSummary summary = summaryCounters.summary(null);
+
+        assertEquals(Map.of("confirmed", 5L, "pending", 1L), summary.getBookingsByStatus());
+        assertEquals(new BigDecimal("66000.00"), summary.getConfirmedRevenue());
+        assertEquals(10, summary.getTotalPlots());
+        assertEquals(5, summary.getOccupiedPlots());
+        assertEquals(0.5, summary.getOccupancy());
+        assertEquals(2, summary.getGardens().size());
+    }
+
+    @Test
+    void summary_ShouldFollowBookingTransitionsAndFilterByOwner() {
+        Booking booking = new Booking();
+        booking.setGardenId(gardenId);
+        booking.setTotalPrice(new BigDecimal("15000"));
+        booking.setStatus("confirmed");
+        summaryCounters.onBookingChanged(BookingChangedEvent.statusChanged(booking, "pending"));
+
+        AdminSummary summary = summaryCounters.summary(owner);
+
+        assertEquals(1, summary.getGardens().size());
+        assertEquals(Map.of("confirmed", 3L), summary.getBookingsByStatus());
+        assertEquals(new BigDecimal("45000.00"), summary.getConfirmedRevenue());
+        assertEquals(0.75, summary.getGardens().get(0).getOccupancy());
+
+        summaryCounters.onBookingChanged(BookingChangedEvent.deleted(booking));
+
+        assertEquals(new BigDecimal("30000.00"), summaryCounters.summary(owner).getConfirmedRevenue());
+    }
+
+    private static GardenRepository.Header header(UUID id, UUID ownerId, String name, int totalPlots) {
+        return new GardenRepository.Header() {
+            public UUID getId() {
+                return id;
+            }
+
+            public Integer getTotalPlots() {
+                return totalPlots;
+            }
+
+            public UUID getOwnerId() {
+                return ownerId;
+            }
+
+            public String getName() {
+                return name;
+            }
+        };
+    }
+
+    private static BookingRepository.StatusTotal total(UUID gardenId, String status, long bookings, String totalPrice) {
+        return new BookingRepository.StatusTotal() {
+            public UUID getGardenId() {
+                return gardenId;
+            }
+
+            public String getStatus() {
+                return status;
+            }
+
+            public long getBookings() {
+                return bookings;
+            }
+
+            public BigDecimal getTotalPrice() {
+                return new BigDecimal(totalPrice);
+            }
+        };
+    }
+}
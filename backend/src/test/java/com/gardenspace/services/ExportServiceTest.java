@@ -0,0 +1,123 @@
+package com.gardenspace.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gardenspace.models.Garden;
+import com.gardenspace.models.User;
+import com.gardenspace.repositories.GardenRepository;
+import com.gardenspace.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.export.chunk-size=7"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(ExportService.class)
+class ExportServiceTest {
+
+    private static final int GARDEN_COUNT = 20;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private GardenRepository gardenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        UUID ownerId = UUID.randomUUID();
+        List<Garden> gardens = new ArrayList<>();
+        for (int i = 0; i < GARDEN_COUNT; i++) {
+            Garden garden = new Garden();
+            garden.setName("Garden " + i);
+            garden.setDescription("Plots, water, \"quiet\" corner");
+            garden.setAddress(i + " Garden Street, Debrecen");
+            garden.setBasePricePerMonth(new BigDecimal("5000"));
+            garden.setOwnerId(ownerId);
+            garden.setAmenities(List.of("Kút", "Parkoló"));
+            garden.setImages(List.of("https://img/" + i + ".jpg"));
+            gardens.add(garden);
+        }
+        gardenRepository.saveAll(gardens);
+
+        User user = new User();
+        user.setFullName("Kertész Anna");
+        user.setEmail("anna@example.com");
+        user.setPassword("$2a$10$secret-hash");
+        userRepository.save(user);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void exportGardens_AsNdjson_WritesOneLinePerGardenWithCollectionsLoadedPerChunk() throws Exception {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(ExportService.Dataset.GARDENS, ExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(GARDEN_COUNT, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Garden 0", first.get("name").asText());
+        assertEquals("Kút", first.get("amenities").get(0).asText());
+        // one cursor query, then amenities + images once per chunk of 7
+        assertEquals(1 + 3 * 2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void exportGardens_AsCsv_WritesHeaderAndQuotesSpecialCharacters() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(ExportService.Dataset.GARDENS, ExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(GARDEN_COUNT + 1, lines.length);
+        assertTrue(lines[0].startsWith("id,name,description,address,"));
+        assertTrue(lines[1].contains(",Garden 0,\"Plots, water, \"\"quiet\"\" corner\","));
+        assertTrue(lines[1].contains(",Kút;Parkoló,"));
+    }
+
+    @Test
+    void exportUsers_NeverIncludesPasswordHash() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(ExportService.Dataset.USERS, ExportService.Format.NDJSON, out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.contains("anna@example.com"));
+        assertFalse(body.contains("password"));
+        assertFalse(body.contains("secret-hash"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.GardenAvailability;
+import com.gardenspace.events.BookingChangedEvent;
+import com.gardenspace.events.GardenChangedEvent;
+import com.gardenspace.models.Booking;
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.BookingRepository;
+import com.gardenspace.repositories.GardenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GardenAvailabilityCalendarTest {
+
+    @Mock
+    private GardenRepository gardenRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private GardenAvailabilityCalendar calendar;
+
+    private UUID small;
+    private UUID large;
+
+    @BeforeEach
+    void setUp() {
+        small = UUID.randomUUID();
+        large = UUID.randomUUID();
+        when(gardenRepository.findPlotTotals()).thenReturn(List.of(total(small, 2), total(large, 5)));
+        when(bookingRepository.findByStatusIn(PlotReservationEngine.PLOT_HOLDING_STATUSES)).thenReturn(List.of(
+                stay(small, LocalDate.of(2026, 5, 1), LocalDate.of(2026, 8, 1)),
+                stay(small, LocalDate.of(2026, 7, 15), LocalDate.of(2026, 10, 15)),
+                stay(large, LocalDate.of(2026, 6, 1), LocalDate.of(2026, 7, 1))));
+        calendar.rebuild();
+    }
+
+    @Test
+    void availability_ShouldCountBookingsPerMonthWithExclusiveEndDate() {
+        GardenAvailability availability = calendar.availability(small, YearMonth.of(2026, 4), YearMonth.of(2026, 11)).orElseThrow();
+
+        assertEquals(List.of(0, 1, 1, 2, 1, 1, 1, 0),
+                availability.getMonths().stream().map(GardenAvailability.Month::getBooked).toList());
+        assertEquals(0, availability.getFreePlots());
+        assertTrue(calendar.availability(UUID.randomUUID(), YearMonth.of(2026, 4), YearMonth.of(2026, 4)).isEmpty());
+    }
+
+    @Test
+    void withFreePlots_ShouldUseBusiestMonthOfTheRange() {
+        List<GardenAvailabilityCalendar.Hit> hits = calendar.withFreePlots(YearMonth.of(2026, 5), YearMonth.of(2026, 6), 1);
+
+        assertEquals(List.of(new GardenAvailabilityCalendar.Hit(large, 4), new GardenAvailabilityCalendar.Hit(small, 1)), hits);
+        assertEquals(List.of(large), calendar.withFreePlots(YearMonth.of(2026, 7), YearMonth.of(2026, 7), 1).stream()
+                .map(GardenAvailabilityCalendar.Hit::gardenId).toList());
+    }
+
+    @Test
+    void onBookingChanged_ShouldOnlyCountPlotHoldingStatuses() {
+        Booking booking = new Booking();
+        booking.setGardenId(large);
+        booking.setStartDate(LocalDate.of(2027, 1, 10));
+        booking.setEndDate(LocalDate.of(2027, 3, 10));
+        YearMonth january = YearMonth.of(2027, 1);
+
+        calendar.onBookingChanged(BookingChangedEvent.created(booking));
+        assertEquals(5, calendar.availability(large, january, january).orElseThrow().getFreePlots());
+
+        booking.setStatus("confirmed");
+        calendar.onBookingChanged(BookingChangedEvent.statusChanged(booking, "pending"));
+        assertEquals(4, calendar.availability(large, january, january).orElseThrow().getFreePlots());
+
+        calendar.onBookingChanged(BookingChangedEvent.deleted(booking));
+        assertEquals(5, calendar.availability(large, january, january).orElseThrow().getFreePlots());
+    }
+
+    @Test
+    void onGardenChanged_ShouldTrackTotalsAndDeletes() {
+        Garden garden = new Garden();
+        garden.setId(small);
+        garden.setTotalPlots(4);
+        calendar.onGardenChanged(GardenChangedEvent.saved(garden));
+        assertEquals(2, calendar.availability(small, YearMonth.of(2026, 7), YearMonth.of(2026, 7)).orElseThrow().getFreePlots());
+
+        calendar.onGardenChanged(GardenChangedEvent.deleted(small));
+        assertTrue(calendar.availability(small, YearMonth.of(2026, 7), YearMonth.of(2026, 7)).isEmpty());
+    }
+
+    private static GardenRepository.PlotTotal total(UUID id, int totalPlots) {
+        return new GardenRepository.PlotTotal() {
+            public UUID getId() {
+                return id;
+            }
+
+            public Integer getTotalPlots() {
+                return totalPlots;
+            }
+        };
+    }
+
+    private static BookingRepository.Stay stay(UUID gardenId, LocalDate startDate, LocalDate endDate) {
+        return new BookingRepository.Stay() {
+            public UUID getGardenId() {
+                return gardenId;
+            }
+
+            public LocalDate getStartDate() {
+                return startDate;
+            }
+
+            public LocalDate getEndDate() {
+                return endDate;
+            }
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.gardenspace.services;
+
+import com.gardenspace.events.GardenAvailabilityChangedEvent;
+import com.gardenspace.events.GardenChangedEvent;
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.GardenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GardenCatalogSnapshotTest {
+
+    @Mock
+    private GardenRepository gardenRepository;
+
+    @InjectMocks
+    private GardenCatalogSnapshot catalogSnapshot;
+
+    private Garden full;
+    private Garden open;
+
+    @BeforeEach
+    void setUp() {
+        full = garden("Full Garden", 0);
+        open = garden("Open Garden", 3);
+    }
+
+    @Test
+    void current_BeforeRebuild_CountsMiss() {
+        assertTrue(catalogSnapshot.current().isEmpty());
+        assertEquals(1, catalogSnapshot.stats().misses());
+        assertFalse(catalogSnapshot.stats().loaded());
+    }
+
+    @Test
+    void rebuild_ServesFrozenCopiesAndCountsHits() {
+        when(gardenRepository.findAll(any(Sort.class))).thenReturn(new ArrayList<>(List.of(full, open)));
+        catalogSnapshot.rebuild();
+
+        GardenCatalogSnapshot.Catalog catalog = catalogSnapshot.current().orElseThrow();
+
+        assertEquals(2, catalog.size());
+        assertEquals(List.of(open.getId()), catalog.available().stream().map(Garden::getId).toList());
+        Garden copy = catalog.findById(open.getId()).orElseThrow();
+        assertNotSame(open, copy);
+        assertThrows(UnsupportedOperationException.class, () -> copy.getAmenities().add("Pool"));
+        assertThrows(UnsupportedOperationException.class, () -> copy.setAvailablePlots(0));
+        assertEquals(open, copy);
+        assertThrows(UnsupportedOperationException.class, () -> catalog.gardens().clear());
+        assertEquals(1, catalogSnapshot.stats().hits());
+    }
+
+    @Test
+    void onAvailabilityChanged_AppliesLatestSequenceOnly() {
+        when(gardenRepository.findAll(any(Sort.class))).thenReturn(new ArrayList<>(List.of(full, open)));
+        catalogSnapshot.rebuild();
+        long version = catalogSnapshot.version();
+
+        catalogSnapshot.onAvailabilityChanged(new GardenAvailabilityChangedEvent(full.getId(), 2, OffsetDateTime.now(), 2));
+        catalogSnapshot.onAvailabilityChanged(new GardenAvailabilityChangedEvent(full.getId(), 1, OffsetDateTime.now(), 1));
+
+        GardenCatalogSnapshot.Catalog catalog = catalogSnapshot.current().orElseThrow();
+        assertEquals(2, catalog.findById(full.getId()).orElseThrow().getAvailablePlots());
+        assertEquals(List.of(full.getId(), open.getId()), catalog.available().stream().map(Garden::getId).toList());
+        assertEquals(0, full.getAvailablePlots());
+        assertTrue(catalogSnapshot.version() > version);
+    }
+
+    @Test
+    void onGardenChanged_SwapsInPatchedCatalogWithoutTouchingOldOne() {
+        when(gardenRepository.findAll(any(Sort.class))).thenReturn(new ArrayList<>(List.of(full, open)));
+        catalogSnapshot.rebuild();
+        GardenCatalogSnapshot.Catalog before = catalogSnapshot.current().orElseThrow();
+
+        full.setAvailablePlots(1);
+        catalogSnapshot.onGardenChanged(GardenChangedEvent.saved(full));
+        Garden added = garden("New Garden", 2);
+        catalogSnapshot.onGardenChanged(GardenChangedEvent.saved(added));
+        catalogSnapshot.onGardenChanged(GardenChangedEvent.deleted(open.getId()));
+
+        GardenCatalogSnapshot.Catalog after = catalogSnapshot.current().orElseThrow();
+        assertEquals(List.of(full.getId(), added.getId()), after.gardens().stream().map(Garden::getId).toList());
+        assertEquals(1, after.findById(full.getId()).orElseThrow().getAvailablePlots());
+        assertEquals(2, after.available().size());
+        assertEquals(2, before.size());
+        assertEquals(0, before.findById(full.getId()).orElseThrow().getAvailablePlots());
+    }
+
+    @Test
+    void onGardenChanged_AfterAvailabilityChange_KeepsAppliedPlotCount() {
+        when(gardenRepository.findAll(any(Sort.class))).thenReturn(new ArrayList<>(List.of(full, open)));
+        catalogSnapshot.rebuild();
+
+        catalogSnapshot.onAvailabilityChanged(new GardenAvailabilityChangedEvent(open.getId(), 1, OffsetDateTime.now(), 1));
+        // Read before the booking above committed, delivered after it
+        open.setName("Renamed Garden");
+        catalogSnapshot.onGardenChanged(GardenChangedEvent.saved(open));
+
+        Garden patched = catalogSnapshot.current().orElseThrow().findById(open.getId()).orElseThrow();
+        assertEquals("Renamed Garden", patched.getName());
+        assertEquals(1, patched.getAvailablePlots());
+    }
+
+    private static Garden garden(String name, int availablePlots) {
+        Garden garden = new Garden();
+        garden.setId(UUID.randomUUID());
+        garden.setName(name);
+        garden.setAvailablePlots(availablePlots);
+        garden.setBasePricePerMonth(new BigDecimal("5000"));
+        garden.setAmenities(new ArrayList<>(List.of("Kút")));
+        return garden;
+    }
+}
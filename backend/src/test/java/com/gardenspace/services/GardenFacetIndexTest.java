@@ -0,0 +1,120 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.GardenFilter;
+import com.gardenspace.events.GardenAvailabilityChangedEvent;
+import com.gardenspace.models.Garden;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GardenFacetIndexTest {
+
+    private GardenFacetIndex index;
+    private final List<Garden> gardens = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        index = new GardenFacetIndex(null);
+        add("4000", "120", 2, "Kút", "Parkoló");
+        add("6000", "200", 0, "kut");
+        add("8000", null, 5, "Szerszámkamra");
+        add("12000", "450", 1, "Kút", "Szerszámkamra");
+    }
+
+    @Test
+    void filter_CombinesAmenityPriceAndAvailabilityPredicates() {
+        GardenFilter filter = new GardenFilter();
+        filter.setAmenities(List.of("KUT"));
+        filter.setMaxPrice(new BigDecimal("10000"));
+
+        GardenFacetIndex.Result result = index.filter(filter, 0, 10);
+
+        assertEquals(List.of(gardens.get(0).getId(), gardens.get(1).getId()), result.gardenIds());
+        assertEquals(2, result.total());
+        assertEquals(1, result.availableCount());
+        assertEquals(2, result.amenityCounts().get("Kút"));
+        assertEquals(1, result.amenityCounts().get("Parkoló"));
+        assertFalse(result.amenityCounts().containsKey("Szerszámkamra"));
+
+        filter.setAvailable(true);
+        assertEquals(List.of(gardens.get(0).getId()), index.filter(filter, 0, 10).gardenIds());
+    }
+
+    @Test
+    void filter_SizeRangeExcludesGardensWithUnknownSize() {
+        GardenFilter filter = new GardenFilter();
+        filter.setMinSize(new BigDecimal("150"));
+
+        GardenFacetIndex.Result result = index.filter(filter, 0, 10);
+
+        assertEquals(List.of(gardens.get(1).getId(), gardens.get(3).getId()), result.gardenIds());
+    }
+
+    @Test
+    void filter_PagesBySlotAndReportsNextSlot() {
+        GardenFacetIndex.Result first = index.filter(new GardenFilter(), 0, 3);
+        GardenFacetIndex.Result second = index.filter(new GardenFilter(), first.nextSlot(), 3);
+
+        assertEquals(3, first.gardenIds().size());
+        assertEquals(4, first.total());
+        assertEquals(List.of(gardens.get(3).getId()), second.gardenIds());
+        assertEquals(-1, second.nextSlot());
+    }
+
+    @Test
+    void putAndRemove_KeepBitmapsInSync() {
+        Garden updated = gardens.get(1);
+        updated.setAvailablePlots(3);
+        updated.setAmenities(List.of("Parkoló"));
+        index.put(updated);
+        index.remove(gardens.get(0).getId());
+
+        GardenFilter filter = new GardenFilter();
+        filter.setAmenities(List.of("Parkoló"));
+        filter.setAvailable(true);
+        GardenFacetIndex.Result result = index.filter(filter, 0, 10);
+
+        assertEquals(List.of(updated.getId()), result.gardenIds());
+        GardenFacetIndex.Result all = index.filter(new GardenFilter(), 0, 10);
+        assertEquals(3, all.total());
+        assertEquals(1, all.amenityCounts().get("Kút"));
+    }
+
+    @Test
+    void onAvailabilityChanged_IgnoresEventsOlderThanTheLastApplied() {
+        UUID soldOut = gardens.get(0).getId();
+        index.onAvailabilityChanged(new GardenAvailabilityChangedEvent(soldOut, 0, OffsetDateTime.now(), 2));
+        index.onAvailabilityChanged(new GardenAvailabilityChangedEvent(soldOut, 1, OffsetDateTime.now(), 1));
+
+        GardenFilter filter = new GardenFilter();
+        filter.setAvailable(true);
+
+        assertEquals(List.of(gardens.get(2).getId(), gardens.get(3).getId()), index.filter(filter, 0, 10).gardenIds());
+    }
+
+    @Test
+    void filter_UnknownAmenityMatchesNothing() {
+        GardenFilter filter = new GardenFilter();
+        filter.setAmenities(List.of("Medence"));
+
+        assertEquals(0, index.filter(filter, 0, 10).total());
+    }
+
+    private void add(String price, String size, int availablePlots, String... amenities) {
+        Garden garden = new Garden();
+        garden.setId(UUID.randomUUID());
+        garden.setBasePricePerMonth(new BigDecimal(price));
+        garden.setSizeSqm(size == null ? null : new BigDecimal(size));
+        garden.setAvailablePlots(availablePlots);
+        garden.setAmenities(List.of(amenities));
+        gardens.add(garden);
+        index.put(garden);
+    }
+}
@@ -0,0 +1,88 @@
+package com.gardenspace.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GardenGeoIndexTest {
+
+    // Debrecen city centre
+    private static final double LAT = 47.5316;
+    private static final double LON = 21.6273;
+
+    private GardenGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GardenGeoIndex(null);
+    }
+
+    @Test
+    void nearest_ReturnsClosestGardensFirstWithinRadius() {
+        UUID center = UUID.randomUUID();
+        UUID nagyerdo = UUID.randomUUID();
+        UUID hajduszoboszlo = UUID.randomUUID();
+        index.put(center, LAT, LON);
+        index.put(nagyerdo, 47.5600, 21.6300);
+        index.put(hajduszoboszlo, 47.4430, 21.3900);
+
+        List<GardenGeoIndex.Hit> hits = index.nearest(LAT, LON, 10, 10);
+
+        assertEquals(2, hits.size());
+        assertEquals(center, hits.get(0).gardenId());
+        assertEquals(nagyerdo, hits.get(1).gardenId());
+        assertEquals(3.2, hits.get(1).distanceKm(), 0.1);
+    }
+
+    @Test
+    void put_MovingGardenReplacesPreviousPosition() {
+        UUID gardenId = UUID.randomUUID();
+        index.put(gardenId, 47.4430, 21.3900);
+        index.put(gardenId, LAT, LON);
+
+        assertEquals(1, index.size());
+        assertEquals(gardenId, index.nearest(LAT, LON, 1, 5).get(0).gardenId());
+        assertTrue(index.nearest(47.4430, 21.3900, 1, 5).isEmpty());
+    }
+
+    @Test
+    void remove_DropsGardenFromResults() {
+        UUID gardenId = UUID.randomUUID();
+        index.put(gardenId, LAT, LON);
+        index.remove(gardenId);
+
+        assertEquals(0, index.size());
+        assertTrue(index.nearest(LAT, LON, 50, 5).isEmpty());
+    }
+
+    @Test
+    void nearest_MatchesBruteForceOnDenseCatalog() {
+        Random random = new Random(42);
+        double[][] coordinates = new double[20_000][];
+        UUID[] ids = new UUID[coordinates.length];
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = new double[]{46.0 + random.nextDouble() * 3, 19.0 + random.nextDouble() * 4};
+            ids[i] = UUID.randomUUID();
+            index.put(ids[i], coordinates[i][0], coordinates[i][1]);
+        }
+
+        List<GardenGeoIndex.Hit> hits = index.nearest(LAT, LON, 25, 15);
+
+        double[] expected = Arrays.stream(coordinates)
+                .mapToDouble(c -> GardenGeoIndex.haversineKm(LAT, LON, c[0], c[1]))
+                .filter(distance -> distance <= 25)
+                .sorted()
+                .limit(15)
+                .toArray();
+        assertEquals(expected.length, hits.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], hits.get(i).distanceKm(), 1e-9);
+        }
+    }
+}
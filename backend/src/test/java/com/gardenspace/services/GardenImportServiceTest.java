@@ -0,0 +1,109 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.GardenImportResult;
+import com.gardenspace.events.GardensImportedEvent;
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.GardenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.gardens.import.batch-size=4"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(GardenImportService.class)
+@RecordApplicationEvents
+class GardenImportServiceTest {
+
+    private static final UUID OWNER = UUID.randomUUID();
+
+    @Autowired
+    private GardenImportService importService;
+
+    @Autowired
+    private GardenRepository gardenRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void importJson_InsertsValidRowsInBatchesAndReportsInvalidOnes() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 10; i++) {
+            json.append(i == 0 ? "" : ",").append(gardenJson("Garden " + i, i == 6 ? null : OWNER));
+        }
+        json.append(",{\"name\": \"Broken\", \"totalPlots\": \"many\"}]");
+
+        GardenImportResult result = importService.importGardens(stream(json.toString()), GardenImportService.Format.JSON);
+
+        assertEquals(9, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(7, result.getErrors().get(0).getRow());
+        assertEquals("ownerId is required", result.getErrors().get(0).getError());
+        assertEquals(11, result.getErrors().get(1).getRow());
+
+        List<Garden> stored = gardenRepository.findByOwnerId(OWNER);
+        gardenRepository.fetchCollections(stored);
+        assertEquals(9, stored.size());
+        Garden first = stored.stream().filter(garden -> garden.getName().equals("Garden 0")).findFirst().orElseThrow();
+        assertEquals(List.of("Kút", "Parkoló"), first.getAmenities());
+        assertEquals(1, first.getImages().size());
+        // batches of 4: 4 + 4 + 1
+        assertEquals(3, events.stream(GardensImportedEvent.class).count());
+    }
+
+    @Test
+    void importCsv_ParsesQuotedCellsAndListColumns() {
+        String csv = "name,description,address,basePricePerMonth,totalPlots,availablePlots,ownerId,amenities\r\n"
+                + "Napos kert,\"Csendes, \"\"napos\"\" hely\nkét sorban\",Debrecen,4500,6,2," + OWNER + ",Kút;Szerszámos\r\n"
+                + "Árnyas kert,Leírás,Debrecen,abc,,," + OWNER + ",\r\n"
+                + "Túl sok,Leírás,Debrecen,1000,2,5," + OWNER + ",\r\n";
+
+        GardenImportResult result = importService.importGardens(stream(csv), GardenImportService.Format.CSV);
+
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(2, 3), result.getErrors().stream().map(GardenImportResult.RowError::getRow).toList());
+
+        Garden stored = gardenRepository.findByOwnerId(OWNER).stream()
+                .min(Comparator.comparing(Garden::getName)).orElseThrow();
+        gardenRepository.fetchCollections(List.of(stored));
+        assertEquals("Csendes, \"napos\" hely\nkét sorban", stored.getDescription());
+        assertEquals(6, stored.getTotalPlots());
+        assertEquals(2, stored.getAvailablePlots());
+        assertEquals(List.of("Kút", "Szerszámos"), stored.getAmenities());
+    }
+
+    @Test
+    void importCsv_WithUnknownColumn_Throws() {
+        assertThrows(IllegalArgumentException.class, () ->
+                importService.importGardens(stream("name,password\r\n"), GardenImportService.Format.CSV));
+    }
+
+    private static String gardenJson(String name, UUID ownerId) {
+        return "{\"name\": \"" + name + "\", \"description\": \"Közösségi kert\", \"address\": \"Debrecen\","
+                + " \"basePricePerMonth\": 5000, \"totalPlots\": 10, \"availablePlots\": 4,"
+                + " \"latitude\": 47.53, \"longitude\": 21.62,"
+                + (ownerId == null ? "" : " \"ownerId\": \"" + ownerId + "\",")
+                + " \"amenities\": [\"Kút\", \"Parkoló\"], \"images\": [\"https://img/" + name + ".jpg\"]}";
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
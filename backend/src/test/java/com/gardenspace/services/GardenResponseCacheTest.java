@@ -0,0 +1,58 @@
+package com.gardenspace.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GardenResponseCacheTest {
+
+    private final GardenResponseCache cache = new GardenResponseCache(new ObjectMapper());
+
+    @Test
+    void put_ShouldServeSameBytesForSameVersionAndKey() {
+        GardenResponseCache.Body stored = cache.put(7, "all|null|null|null", List.of(Map.of("name", "Kert")));
+
+        assertSame(stored, cache.get(7, "all|null|null|null").orElseThrow());
+        assertEquals("[{\"name\":\"Kert\"}]", new String(stored.json(), StandardCharsets.UTF_8));
+        assertTrue(cache.get(7, "available|null|null|null").isEmpty());
+    }
+
+    @Test
+    void put_ForNewerVersion_ShouldDropOlderEntries() {
+        cache.put(7, "all|null|null|null", List.of());
+
+        cache.put(8, "available|null|null|null", List.of());
+
+        assertTrue(cache.get(7, "all|null|null|null").isEmpty());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void put_ForOlderVersion_ShouldReturnBodyWithoutKeepingIt() {
+        cache.put(8, "all|null|null|null", List.of());
+
+        GardenResponseCache.Body stale = cache.put(7, "available|null|null|null", List.of("x"));
+
+        assertEquals("[\"x\"]", new String(stale.json(), StandardCharsets.UTF_8));
+        assertTrue(cache.get(7, "available|null|null|null").isEmpty());
+        assertTrue(cache.get(8, "all|null|null|null").isPresent());
+    }
+
+    @Test
+    void gzipped_ShouldDecompressToJson() throws IOException {
+        GardenResponseCache.Body body = cache.put(1, "all", List.of("Kút", "Parkoló"));
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body.gzipped()))) {
+            assertArrayEquals(body.json(), in.readAllBytes());
+        }
+        assertSame(body.gzipped(), body.gzipped());
+    }
+}
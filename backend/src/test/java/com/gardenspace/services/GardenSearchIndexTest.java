@@ -0,0 +1,88 @@
+package com.gardenspace.services;
+
+import com.gardenspace.models.Garden;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GardenSearchIndexTest {
+
+    private GardenSearchIndex index;
+
+    private Garden rozsakert;
+    private Garden nagyerdo;
+    private Garden tocosvolgy;
+
+    @BeforeEach
+    void setUp() {
+        index = new GardenSearchIndex(null);
+        rozsakert = garden("Rózsakert közösségi kert", "Virágos kert a belvárosban",
+                "Piac utca 12, Debrecen", List.of("Öntözőrendszer", "Szerszámkamra"));
+        nagyerdo = garden("Nagyerdei veteményes", "Csendes kert az erdő szélén, rózsákkal",
+                "Nagyerdei körút 5, Debrecen", List.of("Kút"));
+        tocosvolgy = garden("Tócóvölgyi parcellák", "Tágas parcellák családoknak",
+                "Tócóskert tér 3, Debrecen", List.of("Kút", "Parkoló"));
+        List.of(rozsakert, nagyerdo, tocosvolgy).forEach(index::put);
+    }
+
+    @Test
+    void search_IgnoresCaseAndHungarianAccents() {
+        assertEquals(List.of(rozsakert.getId()), ids(index.search("ROZSAKERT", 10)));
+        assertEquals(List.of(tocosvolgy.getId()), ids(index.search("tocovolgyi", 10)));
+        assertEquals(List.of(rozsakert.getId()), ids(index.search("ontozorendszer", 10)));
+    }
+
+    @Test
+    void search_MatchesLastTermAsPrefix() {
+        assertEquals(List.of(tocosvolgy.getId()), ids(index.search("parcel", 10)));
+        assertEquals(List.of(nagyerdo.getId()), ids(index.search("csendes ker", 10)).subList(0, 1));
+    }
+
+    @Test
+    void search_RequiresEveryTermAndRanksNameAboveDescription() {
+        List<GardenSearchIndex.Hit> hits = index.search("kert", 10);
+
+        assertEquals(rozsakert.getId(), hits.get(0).gardenId());
+        assertTrue(ids(hits).contains(nagyerdo.getId()));
+        assertTrue(index.search("kut debrecen", 10).stream()
+                .map(GardenSearchIndex.Hit::gardenId)
+                .allMatch(id -> id.equals(nagyerdo.getId()) || id.equals(tocosvolgy.getId())));
+        assertTrue(index.search("kut rozsakert", 10).isEmpty());
+    }
+
+    @Test
+    void put_ReindexesUpdatedGardenAndRemoveDropsIt() {
+        rozsakert.setName("Levendulás kert");
+        index.put(rozsakert);
+
+        assertTrue(index.search("rozsakert", 10).isEmpty());
+        assertEquals(List.of(rozsakert.getId()), ids(index.search("levendulas", 10)));
+
+        index.remove(rozsakert.getId());
+        assertTrue(index.search("levendulas", 10).isEmpty());
+    }
+
+    @Test
+    void search_RespectsMaxResults() {
+        assertEquals(1, index.search("debrecen", 1).size());
+        assertEquals(3, index.search("debrecen", 10).size());
+    }
+
+    private static List<UUID> ids(List<GardenSearchIndex.Hit> hits) {
+        return hits.stream().map(GardenSearchIndex.Hit::gardenId).toList();
+    }
+
+    private static Garden garden(String name, String description, String address, List<String> amenities) {
+        Garden garden = new Garden();
+        garden.setId(UUID.randomUUID());
+        garden.setName(name);
+        garden.setDescription(description);
+        garden.setAddress(address);
+        garden.setAmenities(amenities);
+        return garden;
+    }
+}
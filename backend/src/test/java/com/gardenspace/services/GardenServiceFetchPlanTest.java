@@ -0,0 +1,122 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.CursorPage;
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.GardenRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({GardenService.class, GardenCatalogLoader.class})
+class GardenServiceFetchPlanTest {
+
+    private static final int GARDEN_COUNT = 500;
+
+    @Autowired
+    private GardenService gardenService;
+
+    @Autowired
+    private GardenRepository gardenRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private GardenGeoIndex gardenGeoIndex;
+
+    @MockBean
+    private GardenSearchIndex gardenSearchIndex;
+
+    @MockBean
+    private GardenFacetIndex gardenFacetIndex;
+
+    @MockBean
+    private GardenCatalogSnapshot catalogSnapshot;
+
+    @MockBean
+    private GardenAvailabilityCalendar availabilityCalendar;
+
+    @MockBean
+    private PlotReservationEngine reservationEngine;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        UUID ownerId = UUID.randomUUID();
+        List<Garden> gardens = new ArrayList<>();
+        for (int i = 0; i < GARDEN_COUNT; i++) {
+            Garden garden = new Garden();
+            garden.setName("Garden " + i);
+            garden.setDescription("Community garden number " + i);
+            garden.setAddress(i + " Garden Street, Debrecen");
+            garden.setBasePricePerMonth(new BigDecimal("5000"));
+            garden.setOwnerId(ownerId);
+            garden.setAvailablePlots(i % 2);
+            garden.setAmenities(List.of("water", "shed"));
+            garden.setImages(List.of("https://img/" + i + "/a.jpg", "https://img/" + i + "/b.jpg"));
+            gardens.add(garden);
+        }
+        gardenRepository.saveAll(gardens);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllGardens_LoadsCollectionsWithConstantStatementCount() {
+        List<Garden> gardens = gardenService.getAllGardens();
+        int collectionElements = touchCollections(gardens);
+
+        assertEquals(GARDEN_COUNT, gardens.size());
+        assertEquals(GARDEN_COUNT * 4, collectionElements);
+        // gardens + amenities + images, independent of the number of rows
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAvailableGardens_LoadsCollectionsWithConstantStatementCount() {
+        List<Garden> gardens = gardenService.getAvailableGardens();
+        touchCollections(gardens);
+
+        assertEquals(GARDEN_COUNT / 2, gardens.size());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getGardensPage_LoadsCollectionsWithConstantStatementCount() {
+        CursorPage<Garden> page = gardenService.getGardensPage(null, 100);
+        touchCollections(page.getItems());
+
+        assertEquals(100, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    private int touchCollections(List<Garden> gardens) {
+        int elements = 0;
+        for (Garden garden : gardens) {
+            elements += garden.getAmenities().size() + garden.getImages().size();
+        }
+        return elements;
+    }
+}
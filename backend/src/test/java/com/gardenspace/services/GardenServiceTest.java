@@ -1,7 +1,19 @@
 package com.gardenspace.services;
 
+import com.gardenspace.dto.CursorPage;
+import com.gardenspace.dto.FacetedPage;
+import com.gardenspace.dto.FreeGarden;
+import com.gardenspace.dto.GardenChanges;
+import com.gardenspace.dto.GardenFilter;
+import com.gardenspace.dto.NearbyGarden;
+import com.gardenspace.dto.OffsetCursor;
+import com.gardenspace.dto.PageCursor;
+import com.gardenspace.dto.SyncToken;
+import com.gardenspace.events.GardenChangedEvent;
 import com.gardenspace.models.Garden;
+import com.gardenspace.models.GardenTombstone;
 import com.gardenspace.repositories.GardenRepository;
+import com.gardenspace.repositories.GardenTombstoneRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,14 +21,24 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +47,33 @@ class GardenServiceTest {
     @Mock
     private GardenRepository gardenRepository;
 
+    @Mock
+    private GardenTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private GardenGeoIndex gardenGeoIndex;
+
+    @Mock
+    private GardenSearchIndex gardenSearchIndex;
+
+    @Mock
+    private GardenFacetIndex gardenFacetIndex;
+
+    @Mock
+    private GardenCatalogSnapshot catalogSnapshot;
+
+    @Mock
+    private GardenCatalogLoader catalogLoader;
+
+    @Mock
+    private GardenAvailabilityCalendar availabilityCalendar;
+
+    @Mock
+    private PlotReservationEngine reservationEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private GardenService gardenService;
 
@@ -45,15 +94,95 @@ class GardenServiceTest {
     }
 
     @Test
-    void getAllGardens_ShouldReturnAllGardens() {
+    void getAllGardens_WithoutSnapshot_ShouldLoadFromDatabase() {
         List<Garden> gardens = Arrays.asList(testGarden);
-        when(gardenRepository.findAll()).thenReturn(gardens);
+        when(catalogLoader.loadAll()).thenReturn(gardens);
 
         List<Garden> result = gardenService.getAllGardens();
 
         assertEquals(1, result.size());
         assertEquals("Test Garden", result.get(0).getName());
-        verify(gardenRepository, times(1)).findAll();
+        verify(catalogLoader, times(1)).loadAll();
+    }
+
+    @Test
+    void getGardensPage_WhenMoreRowsExist_ShouldReturnCursorOfLastItem() {
+        Garden second = new Garden();
+        second.setId(UUID.randomUUID());
+        second.setCreatedAt(testGarden.getCreatedAt().plusSeconds(1));
+        when(gardenRepository.findPageAfter(any(OffsetDateTime.class), any(UUID.class), eq(Limit.of(2))))
+                .thenReturn(Arrays.asList(testGarden, second));
+
+        CursorPage<Garden> page = gardenService.getGardensPage(null, 1);
+
+        assertEquals(1, page.getItems().size());
+        PageCursor next = PageCursor.decode(page.getNextCursor());
+        assertEquals(gardenId, next.getId());
+        assertEquals(testGarden.getCreatedAt(), next.getCreatedAt());
+    }
+
+    @Test
+    void getGardensPage_OnLastPage_ShouldReturnNullCursor() {
+        PageCursor after = new PageCursor(OffsetDateTime.now(), UUID.randomUUID());
+        when(gardenRepository.findPageAfter(after.getCreatedAt(), after.getId(), Limit.of(3)))
+                .thenReturn(Arrays.asList(testGarden));
+
+        CursorPage<Garden> page = gardenService.getGardensPage(after.encode(), 2);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getGardensPage_WithInvalidCursorOrLimit_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> gardenService.getGardensPage("not-a-cursor", 10));
+        assertThrows(IllegalArgumentException.class, () -> gardenService.getGardensPage(null, 0));
+    }
+
+    @Test
+    void getChangesSince_ShouldReturnChangesAndTombstonesAfterToken() {
+        SyncToken since = SyncToken.at(OffsetDateTime.now().minusHours(1));
+        UUID deletedId = UUID.randomUUID();
+        when(tombstoneRepository.findGardenIdsDeletedSince(since.getUpdatedAt())).thenReturn(List.of(deletedId));
+        when(gardenRepository.findChangedAfter(since.getUpdatedAt(), since.getId(), Limit.of(501)))
+                .thenReturn(List.of(testGarden));
+
+        GardenChanges<Garden> changes = gardenService.getChangesSince(since.encode(), null);
+
+        assertEquals(List.of(testGarden), changes.getChanged());
+        assertEquals(List.of(deletedId), changes.getDeleted());
+        assertFalse(changes.isHasMore());
+        assertFalse(changes.isReset());
+        assertTrue(SyncToken.decode(changes.getNextToken()).getUpdatedAt().isAfter(since.getUpdatedAt()));
+    }
+
+    @Test
+    void getChangesSince_WhenBatchIsFull_ShouldContinueFromLastChange() {
+        Garden later = new Garden();
+        later.setId(UUID.randomUUID());
+        later.setUpdatedAt(testGarden.getUpdatedAt().plusSeconds(1));
+        when(gardenRepository.findChangedAfter(SyncToken.INITIAL.getUpdatedAt(), SyncToken.INITIAL.getId(), Limit.of(2)))
+                .thenReturn(List.of(testGarden, later));
+
+        GardenChanges<Garden> changes = gardenService.getChangesSince(null, 1);
+
+        assertEquals(List.of(testGarden), changes.getChanged());
+        assertTrue(changes.isHasMore());
+        assertEquals(new SyncToken(testGarden.getUpdatedAt(), gardenId), SyncToken.decode(changes.getNextToken()));
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    @Test
+    void getChangesSince_WithExpiredToken_ShouldResetToFullSync() {
+        SyncToken expired = SyncToken.at(OffsetDateTime.now().minusDays(31));
+        when(gardenRepository.findChangedAfter(SyncToken.INITIAL.getUpdatedAt(), SyncToken.INITIAL.getId(), Limit.of(501)))
+                .thenReturn(List.of(testGarden));
+
+        GardenChanges<Garden> changes = gardenService.getChangesSince(expired.encode(), null);
+
+        assertTrue(changes.isReset());
+        assertEquals(List.of(testGarden), changes.getChanged());
+        assertTrue(changes.getDeleted().isEmpty());
     }
 
     @Test
@@ -85,6 +214,156 @@ class GardenServiceTest {
         assertNotNull(result);
         assertEquals("Test Garden", result.getName());
         verify(gardenRepository, times(1)).save(testGarden);
+        verify(eventPublisher).publishEvent(any(GardenChangedEvent.class));
+    }
+
+    @Test
+    void updateGarden_ShouldResizePlotsInsteadOfCopyingFreePlots() {
+        Garden details = new Garden();
+        details.setName("Renamed Garden");
+        details.setTotalPlots(12);
+        details.setAvailablePlots(12);
+        when(reservationEngine.resize(gardenId, 12)).thenReturn(true);
+        when(gardenRepository.findById(gardenId)).thenReturn(Optional.of(testGarden));
+        when(gardenRepository.save(testGarden)).thenReturn(testGarden);
+
+        Optional<Garden> result = gardenService.updateGarden(gardenId, details);
+
+        assertTrue(result.isPresent());
+        assertEquals("Renamed Garden", result.get().getName());
+        assertEquals(5, result.get().getAvailablePlots());
+        verify(reservationEngine).resize(gardenId, 12);
+        verify(eventPublisher).publishEvent(any(GardenChangedEvent.class));
+    }
+
+    @Test
+    void updateGarden_BelowHeldPlots_ShouldThrow() {
+        Garden details = new Garden();
+        details.setTotalPlots(2);
+        when(reservationEngine.resize(gardenId, 2)).thenReturn(false);
+        when(gardenRepository.existsById(gardenId)).thenReturn(true);
+
+        assertThrows(PlotsInUseException.class, () -> gardenService.updateGarden(gardenId, details));
+        verify(gardenRepository, never()).save(any());
+    }
+
+    @Test
+    void updateGarden_WhenNotExists_ShouldReturnEmpty() {
+        Garden details = new Garden();
+        when(reservationEngine.resize(gardenId, 1)).thenReturn(false);
+        when(gardenRepository.existsById(gardenId)).thenReturn(false);
+
+        assertTrue(gardenService.updateGarden(gardenId, details).isEmpty());
+    }
+
+    @Test
+    void searchGardens_ShouldReturnGardensInRankOrder() {
+        Garden weaker = new Garden();
+        weaker.setId(UUID.randomUUID());
+        when(gardenSearchIndex.search(eq("kert"), anyInt())).thenReturn(List.of(
+                new GardenSearchIndex.Hit(gardenId, 3.2),
+                new GardenSearchIndex.Hit(weaker.getId(), 1.1)));
+        when(gardenRepository.findAllById(any())).thenReturn(List.of(weaker, testGarden));
+
+        List<Garden> result = gardenService.searchGardens("kert");
+
+        assertEquals(List.of(testGarden, weaker), result);
+    }
+
+    @Test
+    void searchGardensPage_ShouldPageByRankOffset() {
+        List<GardenSearchIndex.Hit> hits = List.of(
+                new GardenSearchIndex.Hit(gardenId, 3.0),
+                new GardenSearchIndex.Hit(UUID.randomUUID(), 2.0),
+                new GardenSearchIndex.Hit(UUID.randomUUID(), 1.0));
+        when(gardenSearchIndex.search(eq("kert"), anyInt())).thenReturn(hits);
+        when(gardenRepository.findAllById(any())).thenReturn(List.of(testGarden));
+
+        CursorPage<Garden> first = gardenService.searchGardensPage("kert", null, 1);
+        CursorPage<Garden> last = gardenService.searchGardensPage("kert", OffsetCursor.encode(2), 1);
+
+        assertEquals(List.of(testGarden), first.getItems());
+        assertEquals(1, OffsetCursor.decode(first.getNextCursor()));
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void filterGardens_ShouldReturnPageAndFacetCounts() {
+        GardenFilter filter = new GardenFilter();
+        filter.setAvailable(true);
+        when(gardenFacetIndex.filter(filter, 0, 20)).thenReturn(new GardenFacetIndex.Result(
+                List.of(gardenId), 7, 3, Map.of("Kút", 2), 3));
+        when(gardenRepository.findAllById(List.of(gardenId))).thenReturn(List.of(testGarden));
+
+        FacetedPage<Garden> page = gardenService.filterGardens(filter, null, null);
+
+        assertEquals(List.of(testGarden), page.getItems());
+        assertEquals(3, page.getTotal());
+        assertEquals(2, page.getFacets().getAmenities().get("Kút"));
+        assertEquals(7, OffsetCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void filterGardens_WithInvertedPriceRange_ShouldThrow() {
+        GardenFilter filter = new GardenFilter();
+        filter.setMinPrice(new BigDecimal("9000"));
+        filter.setMaxPrice(new BigDecimal("1000"));
+
+        assertThrows(IllegalArgumentException.class, () -> gardenService.filterGardens(filter, null, null));
+        verifyNoInteractions(gardenFacetIndex);
+    }
+
+    @Test
+    void findNearbyGardens_ShouldReturnGardensInIndexOrderWithDistance() {
+        Garden farther = new Garden();
+        farther.setId(UUID.randomUUID());
+        when(gardenGeoIndex.nearest(47.53, 21.63, 5, 2)).thenReturn(List.of(
+                new GardenGeoIndex.Hit(gardenId, 0.4),
+                new GardenGeoIndex.Hit(farther.getId(), 2.1)));
+        when(gardenRepository.findAllById(any())).thenReturn(List.of(farther, testGarden));
+
+        List<NearbyGarden> result = gardenService.findNearbyGardens(47.53, 21.63, 5, 2);
+
+        assertEquals(2, result.size());
+        assertEquals(gardenId, result.get(0).getGarden().getId());
+        assertEquals(0.4, result.get(0).getDistanceKm());
+        assertEquals(farther.getId(), result.get(1).getGarden().getId());
+    }
+
+    @Test
+    void findNearbyGardens_WithOutOfRangeRadius_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> gardenService.findNearbyGardens(47.53, 21.63, 500, 10));
+        verifyNoInteractions(gardenGeoIndex);
+    }
+
+    @Test
+    void findGardensWithFreePlots_ShouldPageByFreePlotsOverWholeMonths() {
+        Garden emptier = new Garden();
+        emptier.setId(UUID.randomUUID());
+        when(availabilityCalendar.withFreePlots(YearMonth.of(2026, 5), YearMonth.of(2026, 9), 2)).thenReturn(List.of(
+                new GardenAvailabilityCalendar.Hit(emptier.getId(), 7),
+                new GardenAvailabilityCalendar.Hit(gardenId, 3)));
+        when(gardenRepository.findAllById(List.of(emptier.getId()))).thenReturn(List.of(emptier));
+
+        CursorPage<FreeGarden> page = gardenService.findGardensWithFreePlots(
+                LocalDate.of(2026, 5, 14), LocalDate.of(2026, 9, 2), 2, null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(emptier.getId(), page.getItems().get(0).getGarden().getId());
+        assertEquals(7, page.getItems().get(0).getFreePlots());
+        assertEquals(OffsetCursor.encode(1), page.getNextCursor());
+    }
+
+    @Test
+    void findGardensWithFreePlots_WithInvalidRange_ShouldThrow() {
+        LocalDate may = LocalDate.of(2026, 5, 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> gardenService.findGardensWithFreePlots(may, may.minusDays(1), 1, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> gardenService.findGardensWithFreePlots(may, may.plusMonths(36), 1, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> gardenService.findGardensWithFreePlots(may, may, 0, null, null));
+        verifyNoInteractions(availabilityCalendar);
     }
 
     @Test
@@ -96,6 +375,10 @@ class GardenServiceTest {
 
         assertTrue(result);
         verify(gardenRepository, times(1)).deleteById(gardenId);
+        verify(tombstoneRepository).save(argThat((GardenTombstone tombstone) ->
+                tombstone.getGardenId().equals(gardenId)));
+        verify(eventPublisher).publishEvent(argThat((GardenChangedEvent event) ->
+                event.isDeleted() && event.getGardenId().equals(gardenId)));
     }
 
     @Test
@@ -107,5 +390,6 @@ class GardenServiceTest {
 
         assertFalse(result);
         verify(gardenRepository, never()).deleteById(any());
+        verifyNoInteractions(tombstoneRepository);
     }
 }
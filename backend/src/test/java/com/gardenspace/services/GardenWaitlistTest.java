@@ -0,0 +1,171 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.WaitlistJoinRequest;
+import com.gardenspace.models.Booking;
+import com.gardenspace.models.Garden;
+import com.gardenspace.models.WaitlistEntry;
+import com.gardenspace.repositories.BookingRepository;
+import com.gardenspace.repositories.GardenRepository;
+import com.gardenspace.repositories.WaitlistRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({BookingService.class, PlotReservationEngine.class, QuoteEngine.class, GardenWaitlist.class})
+class GardenWaitlistTest {
+
+    private static final LocalDate START = LocalDate.of(2027, 4, 1);
+
+    @Autowired
+    private GardenWaitlist waitlist;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private GardenRepository gardenRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID gardenId;
+    private Booking confirmed;
+
+    @BeforeEach
+    void setUp() {
+        Garden garden = new Garden();
+        garden.setName("Péterfia kert");
+        garden.setDescription("Courtyard garden");
+        garden.setAddress("Péterfia utca, Debrecen");
+        garden.setBasePricePerMonth(new BigDecimal("3000"));
+        garden.setOwnerId(UUID.randomUUID());
+        garden.setTotalPlots(1);
+        garden.setAvailablePlots(0); // taken by the confirmed booking below
+        gardenId = gardenRepository.save(garden).getId();
+
+        confirmed = new Booking();
+        confirmed.setUserId(UUID.randomUUID());
+        confirmed.setGardenId(gardenId);
+        confirmed.setStartDate(START);
+        confirmed.setEndDate(START.plusMonths(6));
+        confirmed.setDurationMonths(6);
+        confirmed.setTotalPrice(new BigDecimal("18000.00"));
+        confirmed.setStatus("confirmed");
+        confirmed = bookingRepository.saveAndFlush(confirmed);
+    }
+
+    @Test
+    void pollNext_ShouldServeHighestPriorityThenOldest() {
+        WaitlistEntry first = join(UUID.randomUUID());
+        WaitlistEntry second = join(UUID.randomUUID());
+        WaitlistEntry urgent = join(UUID.randomUUID());
+        raisePriority(urgent, 5);
+
+        assertEquals(List.of(urgent.getId(), first.getId(), second.getId()),
+                waitlist.getWaitlist(gardenId).stream().map(WaitlistEntry::getId).toList());
+        assertEquals(OptionalInt.of(3), waitlist.position(gardenId, second.getUserId()));
+
+        assertEquals(urgent.getId(), waitlist.pollNext(gardenId).orElseThrow().getId());
+        assertEquals(first.getId(), waitlist.pollNext(gardenId).orElseThrow().getId());
+        assertFalse(waitlistRepository.existsById(first.getId()));
+        assertEquals(1, waitlist.size(gardenId));
+    }
+
+    @Test
+    void join_ShouldRejectGardensWithFreePlotsAndRepeatedUsers() {
+        WaitlistEntry entry = join(UUID.randomUUID());
+
+        assertThrows(IllegalArgumentException.class, () -> waitlist.join(gardenId, request(entry.getUserId())));
+
+        Garden garden = gardenRepository.findById(gardenId).orElseThrow();
+        garden.setAvailablePlots(1);
+        gardenRepository.saveAndFlush(garden);
+        assertThrows(IllegalArgumentException.class, () -> waitlist.join(gardenId, request(UUID.randomUUID())));
+    }
+
+    @Test
+    void cancelBooking_ShouldOfferFreedPlotToNextWaitingUser() {
+        WaitlistEntry waiting = join(UUID.randomUUID());
+
+        bookingService.cancelBooking(confirmed.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Booking offer = bookingRepository.findByUserId(waiting.getUserId()).get(0);
+        assertEquals("offered", offer.getStatus());
+        assertEquals(START, offer.getStartDate());
+        assertEquals(new BigDecimal("9000.00"), offer.getTotalPrice());
+        assertEquals(0, gardenRepository.findById(gardenId).orElseThrow().getAvailablePlots()); // never back on sale
+        assertEquals(0, waitlist.size(gardenId));
+    }
+
+    @Test
+    void expirePendingBookings_ShouldPassLapsedOfferToTheNextUser() {
+        WaitlistEntry first = join(UUID.randomUUID());
+        WaitlistEntry second = join(UUID.randomUUID());
+        bookingService.deleteBooking(confirmed.getId());
+        entityManager.flush();
+        Booking offer = bookingRepository.findByUserId(first.getUserId()).get(0);
+
+        assertEquals(1, bookingService.expirePendingBookings(List.of(offer.getId())));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals("cancelled", bookingRepository.findById(offer.getId()).orElseThrow().getStatus());
+        assertEquals("offered", bookingRepository.findByUserId(second.getUserId()).get(0).getStatus());
+        assertEquals(0, gardenRepository.findById(gardenId).orElseThrow().getAvailablePlots());
+    }
+
+    @Test
+    void cancelBooking_WithNobodyWaiting_ShouldReturnPlotToGarden() {
+        bookingService.cancelBooking(confirmed.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, gardenRepository.findById(gardenId).orElseThrow().getAvailablePlots());
+    }
+
+    @Test
+    void join_ShouldAlwaysStartAtDefaultPriority() {
+        WaitlistEntry entry = join(UUID.randomUUID());
+
+        assertEquals(0, entry.getPriority());
+        assertFalse(waitlist.setPriority(UUID.randomUUID(), entry.getId(), 5)); // another garden's entry
+        assertFalse(waitlist.setPriority(gardenId, UUID.randomUUID(), 5));
+    }
+
+    // Joins reach the in-memory queue after commit, which the test transaction never does
+    private WaitlistEntry join(UUID userId) {
+        WaitlistEntry joined = waitlist.join(gardenId, request(userId));
+        waitlist.rebuild();
+        return joined;
+    }
+
+    private void raisePriority(WaitlistEntry entry, int priority) {
+        assertTrue(waitlist.setPriority(gardenId, entry.getId(), priority));
+        entityManager.clear();
+        waitlist.rebuild();
+    }
+
+    private WaitlistJoinRequest request(UUID userId) {
+        return new WaitlistJoinRequest(userId, START, 3);
+    }
+}
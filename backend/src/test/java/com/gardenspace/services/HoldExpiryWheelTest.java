@@ -0,0 +1,104 @@
+package com.gardenspace.services;
+
+import com.gardenspace.events.BookingChangedEvent;
+import com.gardenspace.models.Booking;
+import com.gardenspace.repositories.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldExpiryWheelTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingService bookingService;
+
+    @InjectMocks
+    private HoldExpiryWheel holdExpiryWheel;
+
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        now = System.currentTimeMillis();
+        ReflectionTestUtils.setField(holdExpiryWheel, "wheelSize", 8);
+        holdExpiryWheel.createWheel();
+    }
+
+    @Test
+    void advanceTo_ShouldFireHoldsOnlyOnceTheirDeadlinePassed() {
+        UUID soon = UUID.randomUUID();
+        UUID later = UUID.randomUUID();
+        holdExpiryWheel.schedule(soon, now + 5_000);
+        holdExpiryWheel.schedule(later, now + 30_000); // several revolutions of an 8-slot wheel
+
+        assertEquals(List.of(), holdExpiryWheel.advanceTo(now + 3_000));
+        assertEquals(List.of(soon), holdExpiryWheel.advanceTo(now + 6_000));
+        assertEquals(List.of(), holdExpiryWheel.advanceTo(now + 28_000));
+        assertEquals(List.of(later), holdExpiryWheel.advanceTo(now + 31_000));
+        assertEquals(0, holdExpiryWheel.size());
+    }
+
+    @Test
+    void onBookingChanged_ShouldDropHoldWhenBookingLeavesPending() {
+        Booking booking = new Booking();
+        booking.setId(UUID.randomUUID());
+        holdExpiryWheel.onBookingChanged(BookingChangedEvent.created(booking));
+        assertEquals(1, holdExpiryWheel.size());
+
+        booking.setStatus("confirmed");
+        holdExpiryWheel.onBookingChanged(BookingChangedEvent.statusChanged(booking, "pending"));
+
+        assertEquals(0, holdExpiryWheel.size());
+        assertEquals(List.of(), holdExpiryWheel.advanceTo(now + 3_600_000));
+    }
+
+    @Test
+    void expireDueHolds_ShouldCancelOverdueHoldsInBatches() {
+        ReflectionTestUtils.setField(holdExpiryWheel, "batchSize", 2);
+        OffsetDateTime abandoned = OffsetDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneOffset.UTC).minusHours(2);
+        List<BookingRepository.Hold> pending = List.of(hold(abandoned), hold(abandoned), hold(abandoned));
+        when(bookingRepository.findExpiringHolds()).thenReturn(pending);
+        ReflectionTestUtils.setField(holdExpiryWheel, "startMillis", now - 10_000); // wheel running for a while
+        holdExpiryWheel.rebuild();
+
+        holdExpiryWheel.expireDueHolds();
+
+        verify(bookingService, times(2)).expirePendingBookings(any());
+        assertEquals(0, holdExpiryWheel.size());
+    }
+
+    private static BookingRepository.Hold hold(OffsetDateTime createdAt) {
+        UUID id = UUID.randomUUID();
+        return new BookingRepository.Hold() {
+            public UUID getId() {
+                return id;
+            }
+
+            public String getStatus() {
+                return "pending";
+            }
+
+            public OffsetDateTime getCreatedAt() {
+                return createdAt;
+            }
+        };
+    }
+}
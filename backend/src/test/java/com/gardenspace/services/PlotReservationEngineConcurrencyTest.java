@@ -0,0 +1,143 @@
+package com.gardenspace.services;
+
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.GardenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Booking rush on a single garden: 200 threads each try to book repeatedly,
+ * every attempt in its own transaction. Checks that plots are never
+ * oversold; the throughput is measured by {@code PlotReservationBenchmark}.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:reservations;LOCK_TIMEOUT=10000"
+})
+@Import(PlotReservationEngine.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PlotReservationEngineConcurrencyTest {
+
+    private static final int THREADS = 200;
+    private static final int ATTEMPTS_PER_THREAD = 5;
+    private static final int PLOTS = 400;
+
+    @Autowired
+    private PlotReservationEngine reservationEngine;
+
+    @Autowired
+    private GardenRepository gardenRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UUID gardenId;
+
+    @BeforeEach
+    void setUp() {
+        Garden garden = new Garden();
+        garden.setName("Nagyerdei közösségi kert");
+        garden.setDescription("Popular garden opening for the season");
+        garden.setAddress("Nagyerdő, Debrecen");
+        garden.setBasePricePerMonth(new BigDecimal("5000"));
+        garden.setOwnerId(UUID.randomUUID());
+        garden.setTotalPlots(PLOTS);
+        garden.setAvailablePlots(PLOTS);
+        gardenId = gardenRepository.save(garden).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gardenRepository.deleteAll();
+    }
+
+    @Test
+    void reserve_With200ConcurrentThreads_NeverOversells() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        transaction.executeWithoutResult(status -> reservationEngine.reserve(gardenId));
+                        reserved.incrementAndGet();
+                    } catch (PlotsUnavailableException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+
+        assertEquals(PLOTS, reserved.get());
+        assertEquals(attempts - PLOTS, rejected.get());
+        assertEquals(0, gardenRepository.findAvailabilityById(gardenId).orElseThrow().getAvailablePlots());
+    }
+
+    @Test
+    void release_NeverExceedsTotalPlots() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> reservationEngine.reserve(gardenId));
+        transaction.executeWithoutResult(status -> reservationEngine.release(gardenId));
+        transaction.executeWithoutResult(status -> reservationEngine.release(gardenId));
+
+        assertEquals(PLOTS, gardenRepository.findAvailabilityById(gardenId).orElseThrow().getAvailablePlots());
+    }
+
+    @Test
+    void resize_ShiftsFreePlotsButNeverBelowHeldPlots() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < 3; i++) {
+            transaction.executeWithoutResult(status -> reservationEngine.reserve(gardenId));
+        }
+
+        assertTrue(reservationEngine.resize(gardenId, 10));
+        assertEquals(7, gardenRepository.findAvailabilityById(gardenId).orElseThrow().getAvailablePlots());
+        assertFalse(reservationEngine.resize(gardenId, 2));
+        assertTrue(reservationEngine.resize(gardenId, 3));
+        assertEquals(0, gardenRepository.findAvailabilityById(gardenId).orElseThrow().getAvailablePlots());
+    }
+
+    @Test
+    void reserve_UnknownGarden_Throws() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                transaction.executeWithoutResult(status -> reservationEngine.reserve(UUID.randomUUID())));
+    }
+}
@@ -0,0 +1,90 @@
+package com.gardenspace.services;
+
+import com.gardenspace.dto.Quote;
+import com.gardenspace.dto.QuoteRequest;
+import com.gardenspace.events.GardenChangedEvent;
+import com.gardenspace.models.Garden;
+import com.gardenspace.repositories.GardenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuoteEngineTest {
+
+    @Mock
+    private GardenRepository gardenRepository;
+
+    @InjectMocks
+    private QuoteEngine quoteEngine;
+
+    private UUID gardenId;
+
+    @BeforeEach
+    void setUp() {
+        gardenId = UUID.randomUUID();
+        when(gardenRepository.findPrices()).thenReturn(List.of(price(gardenId, new BigDecimal("4999.995"))));
+        quoteEngine.rebuild();
+    }
+
+    @Test
+    void quote_ShouldPriceItemsInOrderAndReportUnpriceableOnes() {
+        when(gardenRepository.findPriceById(any())).thenReturn(Optional.empty());
+        List<Quote> quotes = quoteEngine.quote(List.of(
+                new QuoteRequest(gardenId, LocalDate.of(2026, 5, 1), 3),
+                new QuoteRequest(UUID.randomUUID(), null, 3),
+                new QuoteRequest(gardenId, null, 0)));
+
+        assertEquals(new BigDecimal("5000.00"), quotes.get(0).getPricePerMonth());
+        assertEquals(new BigDecimal("15000.00"), quotes.get(0).getTotalPrice());
+        assertEquals(LocalDate.of(2026, 8, 1), quotes.get(0).getEndDate());
+        assertNull(quotes.get(0).getError());
+        assertEquals("Garden not found", quotes.get(1).getError());
+        assertNotNull(quotes.get(2).getError());
+        assertNull(quotes.get(2).getTotalPrice());
+    }
+
+    @Test
+    void quote_WithTooManyItems_ShouldThrow() {
+        List<QuoteRequest> requests = Collections.nCopies(501, new QuoteRequest(gardenId, null, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> quoteEngine.quote(requests));
+    }
+
+    @Test
+    void totalPrice_ShouldFollowGardenPriceChanges() {
+        Garden garden = new Garden();
+        garden.setId(gardenId);
+        garden.setBasePricePerMonth(new BigDecimal("6000"));
+        quoteEngine.onGardenChanged(GardenChangedEvent.saved(garden));
+
+        assertEquals(new BigDecimal("72000.00"), quoteEngine.totalPrice(gardenId, 12));
+        assertThrows(IllegalArgumentException.class, () -> quoteEngine.totalPrice(gardenId, 25));
+    }
+
+    private static GardenRepository.Price price(UUID id, BigDecimal basePricePerMonth) {
+        return new GardenRepository.Price() {
+            public UUID getId() {
+                return id;
+            }
+
+            public BigDecimal getBasePricePerMonth() {
+                return basePricePerMonth;
+            }
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package com.gardenspace.services;
+
+import com.gardenspace.repositories.RefreshTokenRepository;
+import com.gardenspace.repositories.RevokedSessionRepository;
+import com.gardenspace.security.JwtUtil;
+import com.gardenspace.security.TokenRevocationList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({RefreshTokenService.class, TokenRevocationList.class, JwtUtil.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RevokedSessionRepository revokedSessionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        revokedSessionRepository.deleteAll();
+    }
+
+    @Test
+    void rotate_ShouldReplaceTokenWithinSession() {
+        RefreshTokenService.Issued first = refreshTokenService.startSession(userId);
+
+        RefreshTokenService.Issued second = refreshTokenService.rotate(first.token());
+
+        assertNotEquals(first.token(), second.token());
+        assertEquals(first.sessionId(), second.sessionId());
+        assertEquals(userId, second.userId());
+        assertFalse(revocationList.isRevoked(first.sessionId()));
+        assertEquals(2, refreshTokenRepository.count());
+    }
+
+    @Test
+    void rotate_WhenTokenIsReused_ShouldRevokeWholeSession() {
+        RefreshTokenService.Issued first = refreshTokenService.startSession(userId);
+        RefreshTokenService.Issued second = refreshTokenService.rotate(first.token());
+
+        InvalidRefreshTokenException e = assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenService.rotate(first.token()));
+
+        assertTrue(e.getMessage().contains("reused"));
+        assertTrue(revocationList.isRevoked(first.sessionId()));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(second.token()));
+    }
+
+    @Test
+    void rotate_ShouldRejectUnknownToken() {
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("unknown"));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(null));
+    }
+
+    @Test
+    void endSession_ShouldRevokeOnlyThatSession() {
+        RefreshTokenService.Issued phone = refreshTokenService.startSession(userId);
+        RefreshTokenService.Issued laptop = refreshTokenService.startSession(userId);
+
+        assertTrue(refreshTokenService.endSession(phone.token()));
+
+        assertTrue(revocationList.isRevoked(phone.sessionId()));
+        assertFalse(revocationList.isRevoked(laptop.sessionId()));
+        assertEquals(laptop.sessionId(), refreshTokenService.rotate(laptop.token()).sessionId());
+        assertFalse(refreshTokenService.endSession("unknown"));
+    }
+
+    @Test
+    void endSession_WhenTransactionRollsBack_ShouldNotRevoke() {
+        RefreshTokenService.Issued session = refreshTokenService.startSession(userId);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            refreshTokenService.endSession(session.token());
+            status.setRollbackOnly();
+        });
+
+        assertFalse(revocationList.isRevoked(session.sessionId()));
+        assertEquals(0, revokedSessionRepository.count());
+        assertEquals(session.sessionId(), refreshTokenService.rotate(session.token()).sessionId());
+    }
+
+    @Test
+    void endAllSessions_ShouldRevokeEverySessionOfUser() {
+        RefreshTokenService.Issued phone = refreshTokenService.startSession(userId);
+        RefreshTokenService.Issued laptop = refreshTokenService.startSession(userId);
+        RefreshTokenService.Issued other = refreshTokenService.startSession(UUID.randomUUID());
+
+        assertEquals(2, refreshTokenService.endAllSessions(userId));
+
+        assertTrue(revocationList.isRevoked(phone.sessionId()));
+        assertTrue(revocationList.isRevoked(laptop.sessionId()));
+        assertFalse(revocationList.isRevoked(other.sessionId()));
+    }
+
+    @Test
+    void rebuild_ShouldRestoreRevocationsFromDatabase() {
+        RefreshTokenService.Issued session = refreshTokenService.startSession(userId);
+        refreshTokenService.endSession(session.token());
+        TokenRevocationList restarted = new TokenRevocationList(revokedSessionRepository);
+        ReflectionTestUtils.invokeMethod(restarted, "createFilter");
+        assertFalse(restarted.isRevoked(session.sessionId()));
+
+        restarted.rebuild();
+
+        assertTrue(restarted.isRevoked(session.sessionId()));
+        assertEquals(1, restarted.size());
+    }
+}